@@ -0,0 +1,109 @@
+#pragma once
+
+#include <stdexcept>
+#include <string>
+#include <vector>
+#include "cross_section.h"
+
+namespace CrossSectionUtils {
+
+// Reads polylines [begin, end) from CSR buffers, where polyline i consists of
+// the xy points offsets[i] through offsets[i + 1] - 1.
+manifold::Polygons PolygonsFromBuffer(const double* points, const int* offsets, std::size_t begin, std::size_t end) {
+    manifold::Polygons polys;
+    polys.reserve(end - begin);
+    for (std::size_t i = begin; i < end; i++) {
+        manifold::SimplePolygon poly;
+        poly.reserve(offsets[i + 1] - offsets[i]);
+        for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+            poly.push_back(glm::vec2(points[2 * j], points[2 * j + 1]));
+        }
+        polys.push_back(poly);
+    }
+    return polys;
+}
+
+// Writes polylines back into CSR buffers, with a layer offset entry (in
+// polylines) before each layer and one after the last.
+std::vector<double> FlattenPaths(const std::vector<manifold::Polygons>& layers, std::vector<int>& offsets, std::vector<int>& layerOffsets) {
+    std::size_t nPaths = 0;
+    std::size_t nPoints = 0;
+    for (const auto& layer : layers) {
+        nPaths += layer.size();
+        for (const auto& poly : layer) {
+            nPoints += poly.size();
+        }
+    }
+
+    std::vector<double> points;
+    points.reserve(2 * nPoints);
+    offsets.clear();
+    offsets.reserve(nPaths + 1);
+    layerOffsets.clear();
+    layerOffsets.reserve(layers.size() + 1);
+
+    offsets.push_back(0);
+    layerOffsets.push_back(0);
+    for (const auto& layer : layers) {
+        for (const auto& poly : layer) {
+            for (const auto& p : poly) {
+                points.push_back(p.x);
+                points.push_back(p.y);
+            }
+            offsets.push_back(points.size() / 2);
+        }
+        layerOffsets.push_back(offsets.size() - 1);
+    }
+    return points;
+}
+
+// Checks that offsets[begin] through offsets[end] exist among nOffsets
+// entries, are non-decreasing, and lie in [0, limit].
+void CheckOffsets(const std::string& name, const int* offsets, std::size_t nOffsets, std::size_t begin, std::size_t end,
+                  std::size_t limit) {
+    if (end >= nOffsets) {
+        throw std::invalid_argument(name + " has fewer entries than referenced.");
+    }
+    for (std::size_t i = begin; i <= end; i++) {
+        if (offsets[i] < 0 || static_cast<std::size_t>(offsets[i]) > limit) {
+            throw std::invalid_argument(name + " has an entry out of range.");
+        }
+        if (i > begin && offsets[i] < offsets[i - 1]) {
+            throw std::invalid_argument(name + " must be non-decreasing.");
+        }
+    }
+}
+
+std::vector<double> ClipPaths(const manifold::CrossSection& section, const double* points, std::size_t nPoints, const int* offsets,
+                              std::size_t nOffsets, std::vector<int>& outOffsets) {
+    if (nOffsets == 0) {
+        throw std::invalid_argument("offsets must have one more entry than there are polylines.");
+    }
+    const std::size_t nPaths = nOffsets - 1;
+    CheckOffsets("offsets", offsets, nOffsets, 0, nPaths, nPoints / 2);
+    std::vector<manifold::Polygons> clipped = {section.ClipPaths(PolygonsFromBuffer(points, offsets, 0, nPaths))};
+    std::vector<int> layerOffsets;
+    return FlattenPaths(clipped, outOffsets, layerOffsets);
+}
+
+std::vector<double> ClipPaths(const std::vector<manifold::CrossSection>& sections, const double* points, std::size_t nPoints,
+                              const int* offsets, std::size_t nOffsets, const int* layerOffsets, std::size_t nLayerOffsets,
+                              std::vector<int>& outOffsets, std::vector<int>& outLayerOffsets) {
+    if (nOffsets == 0) {
+        throw std::invalid_argument("offsets must have one more entry than there are polylines.");
+    }
+    if (nLayerOffsets != sections.size() + 1) {
+        throw std::invalid_argument("layerOffsets must have one more entry than there are layers.");
+    }
+    CheckOffsets("layerOffsets", layerOffsets, nLayerOffsets, 0, sections.size(), nOffsets - 1);
+    CheckOffsets("offsets", offsets, nOffsets, layerOffsets[0], layerOffsets[sections.size()], nPoints / 2);
+
+    std::vector<manifold::Polygons> layers;
+    layers.reserve(sections.size());
+    for (std::size_t i = 0; i < sections.size(); i++) {
+        layers.push_back(PolygonsFromBuffer(points, offsets, layerOffsets[i], layerOffsets[i + 1]));
+    }
+    return FlattenPaths(manifold::CrossSection::ClipPaths(sections, layers), outOffsets, outLayerOffsets);
+}
+
+} // namespace CrossSectionUtils
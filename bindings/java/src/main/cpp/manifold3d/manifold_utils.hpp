@@ -0,0 +1,144 @@
+#pragma once
+
+#include <algorithm>
+#include <cstdint>
+#include <glm/glm.hpp>
+#include <stdexcept>
+#include <vector>
+#include "manifold.h"
+
+namespace ManifoldUtils {
+
+std::vector<glm::vec3> createVec3Vector(const double* values, std::size_t n) {
+    std::vector<glm::vec3> result(n);
+    for (std::size_t i = 0; i < n; i++) {
+        result[i] = glm::vec3(values[3 * i], values[3 * i + 1], values[3 * i + 2]);
+    }
+    return result;
+}
+
+// Writes one distance, triangle index and three barycentric weights per ray
+// into the output buffers. Misses have triangle -1 and infinite distance.
+void RayCast(const manifold::Manifold& manifold, const double* origins, const double* directions, std::size_t nRays,
+             double* distances, int* tris, double* barycentric) {
+    std::vector<manifold::RayHit> hits = manifold.RayCast(createVec3Vector(origins, nRays), createVec3Vector(directions, nRays));
+    for (std::size_t i = 0; i < nRays; i++) {
+        distances[i] = hits[i].distance;
+        tris[i] = hits[i].tri;
+        for (int j = 0; j < 3; j++) {
+            barycentric[3 * i + j] = hits[i].barycentric[j];
+        }
+    }
+}
+
+// Writes the closest surface position, its triangle index and the signed
+// distance (negative inside) for each query point into the output buffers.
+void ClosestPoints(const manifold::Manifold& manifold, const double* points, std::size_t nPoints,
+                   double* positions, int* tris, double* signedDistances) {
+    std::vector<manifold::SurfacePoint> closest = manifold.ClosestPoints(createVec3Vector(points, nPoints));
+    for (std::size_t i = 0; i < nPoints; i++) {
+        for (int j = 0; j < 3; j++) {
+            positions[3 * i + j] = closest[i].position[j];
+        }
+        tris[i] = closest[i].tri;
+        signedDistances[i] = closest[i].signedDistance;
+    }
+}
+
+// Writes 1 for each point strictly inside the manifold and 0 otherwise.
+void Contains(const manifold::Manifold& manifold, const double* points, std::size_t nPoints, uint8_t* inside) {
+    std::vector<uint8_t> result = manifold.Contains(createVec3Vector(points, nPoints));
+    std::copy(result.begin(), result.end(), inside);
+}
+
+// Flattens the overlapping part pairs of a scene to [i0, j0, i1, j1, ...].
+std::vector<int> Overlaps(const manifold::Scene& scene, bool exact) {
+    std::vector<std::pair<int, int>> pairs = scene.Overlaps(exact);
+    std::vector<int> result;
+    result.reserve(2 * pairs.size());
+    for (const auto& pair : pairs) {
+        result.push_back(pair.first);
+        result.push_back(pair.second);
+    }
+    return result;
+}
+
+// GPU-ready copy of a manifold's MeshGL: interleaved float vertices holding
+// position, then optionally a normal and a color read from property channels,
+// plus 16- or 32-bit indices and one draw range per run.
+class RenderMesh {
+public:
+    // normalIdx and colorIdx are property channels (as for CalculateNormals),
+    // or -1 to leave that attribute out. colorWidth is 3 (RGB) or 4 (RGBA).
+    RenderMesh(const manifold::Manifold& manifold, int normalIdx, int colorIdx, int colorWidth)
+        : normalIdx_(normalIdx), colorIdx_(colorIdx), colorWidth_(colorIdx < 0 ? 0 : colorWidth) {
+        const int numProp = manifold.NumProp();
+        if (normalIdx >= 0 && normalIdx + 3 > numProp) {
+            throw std::invalid_argument("normalIdx is out of range.");
+        }
+        if (colorIdx >= 0 && ((colorWidth != 3 && colorWidth != 4) || colorIdx + colorWidth > numProp)) {
+            throw std::invalid_argument("colorIdx or colorWidth is out of range.");
+        }
+        // Passing the normal channels lets GetMeshGL rotate them with each run.
+        const glm::ivec3 normals = normalIdx < 0 ? glm::ivec3(0) : glm::ivec3(3 + normalIdx) + glm::ivec3(0, 1, 2);
+        mesh_ = manifold.GetMeshGL(normals);
+    }
+
+    int NumVert() const { return mesh_.NumVert(); }
+    int NumIndex() const { return mesh_.triVerts.size(); }
+    // Floats per vertex.
+    int Stride() const { return 3 + (normalIdx_ < 0 ? 0 : 3) + colorWidth_; }
+
+    void WriteVertices(float* out) const {
+        const int numProp = mesh_.numProp;
+        const int numVert = NumVert();
+        const int stride = Stride();
+        for (int vert = 0; vert < numVert; vert++) {
+            const float* props = &mesh_.vertProperties[vert * numProp];
+            float* dst = out + static_cast<std::size_t>(vert) * stride;
+            std::copy(props, props + 3, dst);
+            dst += 3;
+            if (normalIdx_ >= 0) {
+                std::copy(props + 3 + normalIdx_, props + 6 + normalIdx_, dst);
+                dst += 3;
+            }
+            if (colorWidth_ > 0) {
+                std::copy(props + 3 + colorIdx_, props + 3 + colorIdx_ + colorWidth_, dst);
+            }
+        }
+    }
+
+    void WriteIndices(uint32_t* out) const {
+        std::copy(mesh_.triVerts.begin(), mesh_.triVerts.end(), out);
+    }
+
+    void WriteIndices(uint16_t* out) const {
+        if (NumVert() > 65536) {
+            throw std::out_of_range("Too many vertices for 16-bit indices.");
+        }
+        std::transform(mesh_.triVerts.begin(), mesh_.triVerts.end(), out,
+                       [](uint32_t i) { return static_cast<uint16_t>(i); });
+    }
+
+    // Flattened [firstIndex, indexCount, originalID] for each non-empty run.
+    std::vector<int> DrawRanges() const {
+        std::vector<int> ranges;
+        for (std::size_t run = 0; run + 1 < mesh_.runIndex.size(); run++) {
+            const int first = mesh_.runIndex[run];
+            const int count = mesh_.runIndex[run + 1] - first;
+            if (count == 0) continue;
+            ranges.push_back(first);
+            ranges.push_back(count);
+            ranges.push_back(run < mesh_.runOriginalID.size() ? mesh_.runOriginalID[run] : -1);
+        }
+        return ranges;
+    }
+
+private:
+    manifold::MeshGL mesh_;
+    int normalIdx_;
+    int colorIdx_;
+    int colorWidth_;
+};
+
+} // namespace ManifoldUtils
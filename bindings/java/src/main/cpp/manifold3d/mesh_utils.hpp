@@ -1,6 +1,12 @@
 #pragma once
 
+#include <algorithm>
+#include <atomic>
+#include <exception>
+#include <limits>
+#include <mutex>
 #include <stdexcept>
+#include <thread>
 #include <glm/glm.hpp>
 #include <vector>
 #include "polygon.h"
@@ -11,6 +17,77 @@
 
 namespace MeshUtils {
 
+// Runs fn(i) for each i in [0, n), spread across hardware threads when
+// parallel is set. The first exception thrown by fn is rethrown here.
+template <typename Func>
+void ParallelFor(std::size_t n, bool parallel, Func fn) {
+    std::size_t nThreads = parallel ? std::min<std::size_t>(n, std::max(1u, std::thread::hardware_concurrency())) : 1;
+    if (nThreads <= 1) {
+        for (std::size_t i = 0; i < n; ++i) {
+            fn(i);
+        }
+        return;
+    }
+
+    std::atomic<std::size_t> next(0);
+    std::exception_ptr error;
+    std::mutex errorMutex;
+    std::vector<std::thread> threads;
+    threads.reserve(nThreads);
+    for (std::size_t t = 0; t < nThreads; ++t) {
+        threads.emplace_back([&]() {
+            for (std::size_t i = next++; i < n; i = next++) {
+                try {
+                    fn(i);
+                } catch (...) {
+                    std::lock_guard<std::mutex> lock(errorMutex);
+                    if (!error) error = std::current_exception();
+                }
+            }
+        });
+    }
+    for (auto& thread : threads) {
+        thread.join();
+    }
+    if (error) {
+        std::rethrow_exception(error);
+    }
+}
+
+// Projects a planar face onto its own plane and triangulates it, appending
+// triangles that index the original vertices.
+template <typename Index>
+void TriangulateFace(const std::vector<glm::vec3>& vertices, const Index* face, std::size_t faceLength, float precision, std::vector<glm::ivec3>& result) {
+    // Compute face normal
+    glm::vec3 normal = glm::cross(vertices[face[1]] - vertices[face[0]], vertices[face[2]] - vertices[face[0]]);
+    normal = glm::normalize(normal);
+
+    // Compute reference right vector
+    glm::vec3 right = glm::normalize(vertices[face[1]] - vertices[face[0]]);
+
+    // Compute up vector
+    glm::vec3 up = glm::cross(right, normal);
+
+    // Project vertices onto plane
+    std::vector<glm::vec2> face2D;
+    face2D.reserve(faceLength);
+    for (std::size_t i = 0; i < faceLength; ++i) {
+        glm::vec3 local = vertices[face[i]] - vertices[face[0]];
+        face2D.push_back(glm::vec2(glm::dot(local, right), glm::dot(local, up)));
+    }
+
+    // Triangulate and remap the triangulated vertices back to the original indices
+    std::vector<glm::ivec3> triVerts = manifold::Triangulate({face2D}, precision);
+    for (auto& tri : triVerts) {
+        tri.x = face[tri.x];
+        tri.y = face[tri.y];
+        tri.z = face[tri.z];
+    }
+
+    // Append to result
+    result.insert(result.end(), triVerts.begin(), triVerts.end());
+}
+
 std::vector<glm::ivec3> TriangulateFaces(const std::vector<glm::vec3>& vertices, const std::vector<std::vector<uint32_t>>& faces, float precision) {
     std::vector<glm::ivec3> result;
     for (const auto& face : faces) {
@@ -19,34 +96,141 @@ std::vector<glm::ivec3> TriangulateFaces(const std::vector<glm::vec3>& vertices,
             result.push_back(glm::ivec3(face[0], face[1], face[2]));
             continue;
         }
+        TriangulateFace(vertices, face.data(), face.size(), precision, result);
+    }
+    return result;
+}
+
+// Splits a quad along a diagonal that leaves both halves facing the same way:
+// the shorter one when both qualify, as for convex or non-planar quads, and
+// the one through the reflex vertex of a concave quad. Returns false for
+// twisted or degenerate quads.
+bool SplitQuad(const std::vector<glm::vec3>& vertices, const int* quad, glm::ivec3& tri0, glm::ivec3& tri1) {
+    const glm::vec3& a = vertices[quad[0]];
+    const glm::vec3& b = vertices[quad[1]];
+    const glm::vec3& c = vertices[quad[2]];
+    const glm::vec3& d = vertices[quad[3]];
+    const bool splitAC = glm::dot(glm::cross(b - a, c - a), glm::cross(c - a, d - a)) > 0;
+    const bool splitBD = glm::dot(glm::cross(c - b, d - b), glm::cross(d - b, a - b)) > 0;
+    if (splitAC && (!splitBD || glm::dot(c - a, c - a) <= glm::dot(d - b, d - b))) {
+        tri0 = glm::ivec3(quad[0], quad[1], quad[2]);
+        tri1 = glm::ivec3(quad[0], quad[2], quad[3]);
+        return true;
+    }
+    if (splitBD) {
+        tri0 = glm::ivec3(quad[1], quad[2], quad[3]);
+        tri1 = glm::ivec3(quad[1], quad[3], quad[0]);
+        return true;
+    }
+    return false;
+}
 
-        // Compute face normal
-        glm::vec3 normal = glm::cross(vertices[face[1]] - vertices[face[0]], vertices[face[2]] - vertices[face[0]]);
-        normal = glm::normalize(normal);
+// Triangulates faces given in CSR form: face i is the faceLengths[i] indices
+// following those of face i - 1 in faceBuf. Triangles and splittable quads are
+// emitted directly; larger faces are triangulated in parallel. Triangles come
+// out in face order.
+std::vector<glm::ivec3> TriangulateFaces(const std::vector<glm::vec3>& vertices, const int* faceBuf, const int* faceLengths, std::size_t nFaces, float precision) {
+    std::vector<std::size_t> faceOffsets(nFaces + 1, 0);
+    for (std::size_t i = 0; i < nFaces; ++i) {
+        if (faceLengths[i] < 3) {
+            throw std::invalid_argument("A face must have at least 3 vertices.");
+        }
+        faceOffsets[i + 1] = faceOffsets[i] + faceLengths[i];
+    }
 
-        // Compute reference right vector
-        glm::vec3 right = glm::normalize(vertices[face[1]] - vertices[face[0]]);
+    std::vector<std::size_t> polyFaces;
+    for (std::size_t i = 0; i < nFaces; ++i) {
+        glm::ivec3 tri0, tri1;
+        if (faceLengths[i] > 4 || (faceLengths[i] == 4 && !SplitQuad(vertices, faceBuf + faceOffsets[i], tri0, tri1))) {
+            polyFaces.push_back(i);
+        }
+    }
 
-        // Compute up vector
-        glm::vec3 up = glm::cross(right, normal);
+    std::vector<std::vector<glm::ivec3>> polyTris(polyFaces.size());
+    ParallelFor(polyFaces.size(), faceOffsets[nFaces] > 4096, [&](std::size_t i) {
+        const std::size_t face = polyFaces[i];
+        TriangulateFace(vertices, faceBuf + faceOffsets[face], faceLengths[face], precision, polyTris[i]);
+    });
 
-        // Project vertices onto plane
-        std::vector<glm::vec2> face2D;
-        for (const auto& index : face) {
-            glm::vec3 local = vertices[index] - vertices[face[0]];
-            face2D.push_back(glm::vec2(glm::dot(local, right), glm::dot(local, up)));
+    std::vector<glm::ivec3> result;
+    result.reserve(faceOffsets[nFaces] - 2 * nFaces);
+    for (std::size_t i = 0, poly = 0; i < nFaces; ++i) {
+        const int* face = faceBuf + faceOffsets[i];
+        if (poly < polyFaces.size() && polyFaces[poly] == i) {
+            result.insert(result.end(), polyTris[poly].begin(), polyTris[poly].end());
+            poly++;
+        } else if (faceLengths[i] == 3) {
+            result.push_back(glm::ivec3(face[0], face[1], face[2]));
+        } else {
+            glm::ivec3 tri0, tri1;
+            SplitQuad(vertices, face, tri0, tri1);
+            result.push_back(tri0);
+            result.push_back(tri1);
         }
+    }
+    return result;
+}
+
+// Triangulates many polygon sets at once with the kernel's triangulator. Contour
+// i is the xy points contourOffsets[i] through contourOffsets[i + 1] - 1, and
+// set i is contours setOffsets[i] through setOffsets[i + 1] - 1. Sets are
+// triangulated in parallel. Triangles index the input points and are written
+// set by set, flattened, with set i's triangles from outSetOffsets[i] to
+// outSetOffsets[i + 1]. nPoints, nContourOffsets and nSetOffsets are the
+// lengths of the three buffers, and every offset they reference is checked
+// against them before anything is read.
+std::vector<int> TriangulateSets(const double* points, std::size_t nPoints, const int* contourOffsets, std::size_t nContourOffsets,
+                                 const int* setOffsets, std::size_t nSetOffsets, float precision, std::vector<int>& outSetOffsets) {
+    if (nSetOffsets == 0) {
+        throw std::invalid_argument("setOffsets must have one more entry than there are sets.");
+    }
+    const std::size_t nSets = nSetOffsets - 1;
+    for (std::size_t i = 0; i <= nSets; ++i) {
+        if (setOffsets[i] < 0 || static_cast<std::size_t>(setOffsets[i]) >= nContourOffsets) {
+            throw std::invalid_argument("setOffsets reference contours outside contourOffsets.");
+        }
+        if (i > 0 && setOffsets[i] < setOffsets[i - 1]) {
+            throw std::invalid_argument("Set offsets must be non-decreasing.");
+        }
+    }
+    for (int j = setOffsets[0]; j <= setOffsets[nSets]; ++j) {
+        if (contourOffsets[j] < 0 || static_cast<std::size_t>(contourOffsets[j]) > nPoints / 2) {
+            throw std::invalid_argument("contourOffsets reference points outside points.");
+        }
+        if (j > setOffsets[0] && contourOffsets[j] < contourOffsets[j - 1]) {
+            throw std::invalid_argument("Contour offsets must be non-decreasing.");
+        }
+    }
 
-        // Triangulate and remap the triangulated vertices back to the original indices
-        std::vector<glm::ivec3> triVerts = manifold::Triangulate({face2D}, precision);
-        for (auto& tri : triVerts) {
-            tri.x = face[tri.x];
-            tri.y = face[tri.y];
-            tri.z = face[tri.z];
+    std::vector<std::vector<glm::ivec3>> setTris(nSets);
+    const std::size_t nPoints = contourOffsets[setOffsets[nSets]] - contourOffsets[setOffsets[0]];
+    ParallelFor(nSets, nPoints > 4096, [&](std::size_t i) {
+        manifold::PolygonsIdx polys;
+        polys.reserve(setOffsets[i + 1] - setOffsets[i]);
+        for (int j = setOffsets[i]; j < setOffsets[i + 1]; ++j) {
+            manifold::SimplePolygonIdx poly;
+            poly.reserve(contourOffsets[j + 1] - contourOffsets[j]);
+            for (int k = contourOffsets[j]; k < contourOffsets[j + 1]; ++k) {
+                poly.push_back({glm::vec2(points[2 * k], points[2 * k + 1]), k});
+            }
+            polys.push_back(poly);
         }
+        setTris[i] = manifold::TriangulateIdx(polys, precision);
+    });
 
-        // Append to result
-        result.insert(result.end(), triVerts.begin(), triVerts.end());
+    outSetOffsets.assign(1, 0);
+    outSetOffsets.reserve(nSets + 1);
+    for (const auto& tris : setTris) {
+        outSetOffsets.push_back(outSetOffsets.back() + tris.size());
+    }
+    std::vector<int> result;
+    result.reserve(3 * outSetOffsets.back());
+    for (const auto& tris : setTris) {
+        for (const auto& tri : tris) {
+            result.push_back(tri.x);
+            result.push_back(tri.y);
+            result.push_back(tri.z);
+        }
     }
     return result;
 }
@@ -60,21 +244,11 @@ manifold::Manifold Polyhedron(const std::vector<glm::vec3>& vertices, const std:
 }
 
 manifold::Manifold Polyhedron(double* vertices, std::size_t nVertices, int* faceBuf, int* faceLengths, std::size_t nFaces) {
+    manifold::Mesh mesh;
+    mesh.vertPos = BufferUtils::createDoubleVec3Vector(vertices, nVertices*3);
+    mesh.triVerts = TriangulateFaces(mesh.vertPos, faceBuf, faceLengths, nFaces, -1.0);
 
-    std::vector<glm::vec3> verts = BufferUtils::createDoubleVec3Vector(vertices, nVertices*3);
-
-    std::vector<std::vector<uint32_t>> faces;
-    for (std::size_t faceIdx = 0, faceBufIndex = 0; faceIdx < nFaces; faceIdx++) {
-        std::size_t faceLength = (std::size_t) faceLengths[faceIdx];
-        std::vector<uint32_t> face;
-        for (size_t j = 0; j < faceLength; j++) {
-            face.push_back((uint32_t) faceBuf[faceBufIndex]);
-            faceBufIndex++;
-        }
-        faces.push_back(face);
-    }
-
-    return Polyhedron(verts, faces);
+    return manifold::Manifold(mesh);
 }
 
 enum class LoftAlgorithm: long {
@@ -124,6 +298,79 @@ glm::vec2 calculatePolygonCentroid(const std::vector<glm::vec2>& vertices) {
     return glm::vec2(centroidX, centroidY);
 }
 
+// Stitches one pair of consecutive sections, appending triangles indexed from
+// the given section vertex offsets.
+void EagerNearestNeighborStitch(const manifold::Polygons& botPolygons, const manifold::Polygons& topPolygons,
+                                size_t botSectionOffset, size_t topSectionOffset, std::vector<glm::ivec3>& triVerts) {
+    size_t botPolyOffset = 0;
+    size_t topPolyOffset = 0;
+    auto currPolyIt = botPolygons.begin();
+    auto nextPolyIt = topPolygons.begin();
+    for (int idx = 0; currPolyIt != botPolygons.end(); idx++, currPolyIt++, nextPolyIt++) {
+      const auto& botPolygon = *currPolyIt;
+      const auto& topPolygon = *nextPolyIt;
+
+      glm::vec2 botCentroid = calculatePolygonCentroid(botPolygon);
+      glm::vec2 topCentroid = calculatePolygonCentroid(topPolygon);
+      glm::vec2 centroidOffset = topCentroid - botCentroid;
+
+      float minDistance = std::numeric_limits<float>::max();
+      size_t botStartVertOffset = 0,
+        topStartVertOffset = 0;
+      for (size_t j = 0; j < topPolygon.size(); ++j) {
+        float dist = glm::distance(botPolygon[0], topPolygon[j] - centroidOffset);
+        if (dist < minDistance) {
+          minDistance = dist;
+          topStartVertOffset = j;
+        }
+      }
+
+      bool botHasMoved = false,
+        topHasMoved = false;
+      size_t botVertOffset = botStartVertOffset,
+        topVertOffset = topStartVertOffset;
+      do {
+          size_t botNextVertOffset = (botVertOffset + 1) % botPolygon.size();
+          size_t topNextVertOffset = (topVertOffset + 1) % topPolygon.size();
+
+          float distBotNextToTop = glm::distance(botPolygon[botNextVertOffset], topPolygon[topVertOffset] - centroidOffset);
+          float distBotToTopNext = glm::distance(botPolygon[botVertOffset], topPolygon[topNextVertOffset] - centroidOffset);
+          float distBotNextToTopNext = glm::distance(botPolygon[botNextVertOffset], topPolygon[topNextVertOffset] - centroidOffset);
+
+          bool botHasNext = botNextVertOffset != (botStartVertOffset + 1) % botPolygon.size() || !botHasMoved;
+          bool topHasNext = topNextVertOffset != (topStartVertOffset + 1) % topPolygon.size() || !topHasMoved;
+
+          if (distBotNextToTopNext < distBotNextToTop && distBotNextToTopNext <= distBotToTopNext && botHasNext && topHasNext) {
+              triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
+                                    topSectionOffset + topPolyOffset + topNextVertOffset,
+                                    topSectionOffset + topPolyOffset + topVertOffset);
+              triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
+                                    botSectionOffset + botPolyOffset + botNextVertOffset,
+                                    topSectionOffset + topPolyOffset + topNextVertOffset);
+              botVertOffset = botNextVertOffset;
+              topVertOffset = topNextVertOffset;
+              botHasMoved = true;
+              topHasMoved = true;
+          } else if (distBotNextToTop < distBotToTopNext && botHasNext) {
+              triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
+                                    botSectionOffset + botPolyOffset + botNextVertOffset,
+                                    topSectionOffset + topPolyOffset + topVertOffset);
+              botVertOffset = botNextVertOffset;
+              botHasMoved = true;
+          } else {
+              triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
+                                    topSectionOffset + topPolyOffset + topNextVertOffset,
+                                    topSectionOffset + topPolyOffset + topVertOffset);
+              topVertOffset = topNextVertOffset;
+              topHasMoved = true;
+          }
+
+      } while (botVertOffset != botStartVertOffset || topVertOffset != topStartVertOffset);
+      botPolyOffset += botPolygon.size();
+      topPolyOffset += topPolygon.size();
+    }
+}
+
 manifold::Manifold EagerNearestNeighborLoft(const std::vector<manifold::Polygons>& sections, const std::vector<glm::mat4x3>& transforms) {
     if (sections.size() != transforms.size()) {
       throw std::runtime_error("Mismatched number of sections and transforms");
@@ -132,135 +379,65 @@ manifold::Manifold EagerNearestNeighborLoft(const std::vector<manifold::Polygons
       throw std::runtime_error("Loft requires at least two sections.");
     }
 
-    size_t nVerts = 0;
-    std::vector<size_t> sectionSizes;
-    sectionSizes.reserve(sections.size());
-    for (auto& section: sections) {
+    std::vector<size_t> sectionOffsets;
+    sectionOffsets.reserve(sections.size() + 1);
+    sectionOffsets.push_back(0);
+    for (std::size_t i = 0; i < sections.size(); ++i) {
+        if (i > 0 && sections[i].size() != sections[i - 1].size()) {
+          throw std::runtime_error("Cross sections must be composed of euqal number of polygons.");
+        }
         size_t sectionSize = 0;
-        for (auto& poly: section) {
+        for (auto& poly: sections[i]) {
             sectionSize += poly.size();
         }
-        nVerts += sectionSize;
-        sectionSizes.push_back(sectionSize);
+        sectionOffsets.push_back(sectionOffsets.back() + sectionSize);
     }
-
-    std::vector<glm::vec3> vertPos;
-    vertPos.reserve(nVerts);
-    std::vector<glm::ivec3> triVerts;
-    triVerts.reserve(2*nVerts);
-
-    size_t botSectionOffset = 0;
-    for (std::size_t i = 0; i < sections.size() - 1; ++i) {
-        const manifold::Polygons& botPolygons = sections[i];
-        const manifold::Polygons& topPolygons = sections[i + 1];
-        const glm::mat4x3& botTransform = transforms[i];
-
-        if (botPolygons.size() != topPolygons.size()) {
-          throw std::runtime_error("Cross sections must be composed of euqal number of polygons.");
-        }
-
-        size_t botSectionSize = sectionSizes[i];
-        size_t topSectionOffset = botSectionOffset + botSectionSize;
-
-        size_t botPolyOffset = 0;
-        size_t topPolyOffset = 0;
-        auto currPolyIt = botPolygons.begin();
-        auto nextPolyIt = topPolygons.begin();
-        for (int idx = 0; currPolyIt != botPolygons.end(); idx++, currPolyIt++, nextPolyIt++) {
-          auto botPolygon = *currPolyIt;
-          auto topPolygon = *nextPolyIt;
-
-          glm::vec2 botCentroid = calculatePolygonCentroid(botPolygon);
-          glm::vec2 topCentroid = calculatePolygonCentroid(topPolygon);
-          glm::vec2 centroidOffset = topCentroid - botCentroid;
-
-          for (const auto& vertex : botPolygon) {
-              vertPos.push_back(MatrixTransforms::Translate(botTransform, glm::vec3(vertex.x, vertex.y, 0))[3]);
+    size_t nVerts = sectionOffsets.back();
+
+    // Section pairs are independent, so they are stitched concurrently once
+    // there is enough work to amortize the threads.
+    bool parallel = nVerts > 4096;
+
+    std::vector<glm::vec3> vertPos(nVerts);
+    ParallelFor(sections.size(), parallel, [&](std::size_t i) {
+        size_t vert = sectionOffsets[i];
+        for (const auto& poly: sections[i]) {
+          for (const auto& vertex : poly) {
+            vertPos[vert++] = MatrixTransforms::Translate(transforms[i], glm::vec3(vertex.x, vertex.y, 0))[3];
           }
+        }
+    });
 
-          float minDistance = std::numeric_limits<float>::max();
-          size_t botStartVertOffset = 0,
-            topStartVertOffset = 0;
-          for (size_t j = 0; j < topPolygon.size(); ++j) {
-            float dist = glm::distance(botPolygon[0], topPolygon[j] - centroidOffset);
-            if (dist < minDistance) {
-              minDistance = dist;
-              topStartVertOffset = j;
-            }
-          }
+    std::vector<std::vector<glm::ivec3>> pairTriVerts(sections.size() - 1);
+    ParallelFor(sections.size() - 1, parallel, [&](std::size_t i) {
+        pairTriVerts[i].reserve(2 * (sectionOffsets[i + 2] - sectionOffsets[i]));
+        EagerNearestNeighborStitch(sections[i], sections[i + 1], sectionOffsets[i], sectionOffsets[i + 1], pairTriVerts[i]);
+    });
 
-          bool botHasMoved = false,
-            topHasMoved = false;
-          size_t botVertOffset = botStartVertOffset,
-            topVertOffset = topStartVertOffset;
-          do {
-              size_t botNextVertOffset = (botVertOffset + 1) % botPolygon.size();
-              size_t topNextVertOffset = (topVertOffset + 1) % topPolygon.size();
-
-              float distBotNextToTop = glm::distance(botPolygon[botNextVertOffset], topPolygon[topVertOffset] - centroidOffset);
-              float distBotToTopNext = glm::distance(botPolygon[botVertOffset], topPolygon[topNextVertOffset] - centroidOffset);
-              float distBotNextToTopNext = glm::distance(botPolygon[botNextVertOffset], topPolygon[topNextVertOffset] - centroidOffset);
-
-              bool botHasNext = botNextVertOffset != (botStartVertOffset + 1) % botPolygon.size() || !botHasMoved;
-              bool topHasNext = topNextVertOffset != (topStartVertOffset + 1) % topPolygon.size() || !topHasMoved;
-
-              if (distBotNextToTopNext < distBotNextToTop && distBotNextToTopNext <= distBotToTopNext && botHasNext && topHasNext) {
-                  triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
-                                        topSectionOffset + topPolyOffset + topNextVertOffset,
-                                        topSectionOffset + topPolyOffset + topVertOffset);
-                  triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
-                                        botSectionOffset + botPolyOffset + botNextVertOffset,
-                                        topSectionOffset + topPolyOffset + topNextVertOffset);
-                  botVertOffset = botNextVertOffset;
-                  topVertOffset = topNextVertOffset;
-                  botHasMoved = true;
-                  topHasMoved = true;
-              } else if (distBotNextToTop < distBotToTopNext && botHasNext) {
-                  triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
-                                        botSectionOffset + botPolyOffset + botNextVertOffset,
-                                        topSectionOffset + topPolyOffset + topVertOffset);
-                  botVertOffset = botNextVertOffset;
-                  botHasMoved = true;
-              } else {
-                  triVerts.emplace_back(botSectionOffset + botPolyOffset + botVertOffset,
-                                        topSectionOffset + topPolyOffset + topNextVertOffset,
-                                        topSectionOffset + topPolyOffset + topVertOffset);
-                  topVertOffset = topNextVertOffset;
-                  topHasMoved = true;
-              }
-
-          } while (botVertOffset != botStartVertOffset || topVertOffset != topStartVertOffset);
-          botPolyOffset += botPolygon.size();
-          topPolyOffset += topPolygon.size();
-        }
-        botSectionOffset += botSectionSize;
+    std::vector<glm::ivec3> triVerts;
+    triVerts.reserve(2*nVerts);
+    for (auto& tris : pairTriVerts) {
+        triVerts.insert(triVerts.end(), tris.begin(), tris.end());
+        std::vector<glm::ivec3>().swap(tris);
     }
 
-    auto frontPolygons = sections.front();
-    auto frontTriangles = manifold::Triangulate(frontPolygons, -1.0);
+    auto frontTriangles = manifold::Triangulate(sections.front(), -1.0);
     for (auto& tri : frontTriangles) {
       triVerts.push_back({tri[2], tri[1], tri[0]});
     }
 
-    auto backPolygons = sections.back();
-    auto backTransform = transforms.back();
-    for (const auto& poly: backPolygons) {
-      for (const auto& vertex : poly) {
-        vertPos.push_back(MatrixTransforms::Translate(backTransform, glm::vec3(vertex.x, vertex.y, 0))[3]);
-      }
-    }
-    auto backTriangles = manifold::Triangulate(backPolygons, -1.0);
-
+    size_t backSectionOffset = sectionOffsets[sections.size() - 1];
+    auto backTriangles = manifold::Triangulate(sections.back(), -1.0);
     for (auto& triangle : backTriangles) {
-        triangle[0] += botSectionOffset;
-        triangle[1] += botSectionOffset;
-        triangle[2] += botSectionOffset;
+        triangle[0] += backSectionOffset;
+        triangle[1] += backSectionOffset;
+        triangle[2] += backSectionOffset;
         triVerts.push_back(triangle);
     }
 
     manifold::Mesh mesh;
-    mesh.triVerts = triVerts;
-    mesh.vertPos = vertPos;
+    mesh.triVerts = std::move(triVerts);
+    mesh.vertPos = std::move(vertPos);
     auto man = manifold::Manifold(mesh);
     return man;
 }
@@ -419,4 +596,82 @@ manifold::Manifold Loft(const manifold::CrossSection section, const std::vector<
     return Loft(sections, transforms, algorithm);
 }
 
+// Builds an EagerNearestNeighbor loft one section at a time. Only the
+// previous section is retained; each added section is stitched to it
+// immediately, so callers never need to hold the whole sweep in memory.
+class LoftBuilder {
+ public:
+    LoftBuilder() {}
+
+    void Add(const manifold::Polygons& section, const glm::mat4x3& transform) {
+        if (numSections_ > 0 && section.size() != prev_.size()) {
+          throw std::runtime_error("Cross sections must be composed of euqal number of polygons.");
+        }
+
+        size_t offset = vertPos_.size();
+        for (const auto& poly: section) {
+          for (const auto& vertex : poly) {
+            vertPos_.push_back(MatrixTransforms::Translate(transform, glm::vec3(vertex.x, vertex.y, 0))[3]);
+          }
+        }
+
+        if (numSections_ == 0) {
+          for (auto& tri : manifold::Triangulate(section, -1.0)) {
+            triVerts_.push_back({tri[2], tri[1], tri[0]});
+          }
+        } else {
+          EagerNearestNeighborStitch(prev_, section, prevOffset_, offset, triVerts_);
+        }
+
+        prev_ = section;
+        prevOffset_ = offset;
+        numSections_++;
+    }
+
+    void Add(const manifold::SimplePolygon& section, const glm::mat4x3& transform) {
+        Add(manifold::Polygons{section}, transform);
+    }
+
+    void Add(const manifold::CrossSection& section, const glm::mat4x3& transform) {
+        Add(section.ToPolygons(), transform);
+    }
+
+    std::size_t NumSections() const { return numSections_; }
+
+    // Caps the last section and returns the finished loft. The builder is
+    // left empty and can be reused.
+    manifold::Manifold Build() {
+        if (numSections_ < 2) {
+          throw std::runtime_error("Loft requires at least two sections.");
+        }
+        for (auto& triangle : manifold::Triangulate(prev_, -1.0)) {
+            triangle[0] += prevOffset_;
+            triangle[1] += prevOffset_;
+            triangle[2] += prevOffset_;
+            triVerts_.push_back(triangle);
+        }
+
+        manifold::Mesh mesh;
+        mesh.triVerts = std::move(triVerts_);
+        mesh.vertPos = std::move(vertPos_);
+        Reset();
+        return manifold::Manifold(mesh);
+    }
+
+    void Reset() {
+        vertPos_.clear();
+        triVerts_.clear();
+        prev_.clear();
+        prevOffset_ = 0;
+        numSections_ = 0;
+    }
+
+ private:
+    std::vector<glm::vec3> vertPos_;
+    std::vector<glm::ivec3> triVerts_;
+    manifold::Polygons prev_;
+    size_t prevOffset_ = 0;
+    std::size_t numSections_ = 0;
+};
+
 }
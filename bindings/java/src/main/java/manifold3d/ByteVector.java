@@ -0,0 +1,32 @@
+package manifold3d;
+
+import java.nio.ByteBuffer;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = {"<vector>", "<cstdint>"})
+@Name("std::vector<uint8_t>")
+public class ByteVector extends Pointer {
+    static { Loader.load(); }
+
+    public ByteVector(Pointer p) { super(p); }
+    public ByteVector() { allocate(); }
+    private native void allocate();
+
+    public native @Cast("size_t") long size();
+    public native @Cast("bool") boolean empty();
+    public native void resize(@Cast("size_t") long n);
+    public native void reserve(@Cast("size_t") long n);
+    public native @Name("operator[]") @Cast("uint8_t") byte get(@Cast("size_t") long n);
+    public native @Name("push_back") void pushBack(@Cast("uint8_t") byte value);
+    public native @Cast("signed char*") BytePointer data();
+
+    /** Direct view of the vector's memory, only valid while this vector is alive and unresized. */
+    public ByteBuffer asBuffer() {
+        if (this.empty()) {
+            return ByteBuffer.allocate(0);
+        }
+        return this.data().capacity(this.size()).asBuffer();
+    }
+}
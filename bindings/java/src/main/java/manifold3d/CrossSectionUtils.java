@@ -0,0 +1,24 @@
+package manifold3d;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.DoubleVector;
+import manifold3d.IntVector;
+import manifold3d.manifold.CrossSection;
+import manifold3d.manifold.CrossSectionVector;
+
+@Platform(compiler = "cpp17", include = {"cross_section_utils.hpp"}, linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS }, link = {"manifold"})
+public class CrossSectionUtils extends Pointer {
+    static { Loader.load(); }
+
+    public CrossSectionUtils() { }
+
+    public static native @ByVal DoubleVector ClipPaths(@Const @ByRef CrossSection section, @Const DoublePointer points, @Cast("std::size_t") long nPoints,
+                                                       @Const IntPointer offsets, @Cast("std::size_t") long nOffsets, @ByRef IntVector outOffsets);
+    public static native @ByVal DoubleVector ClipPaths(@Const @ByRef CrossSectionVector sections, @Const DoublePointer points, @Cast("std::size_t") long nPoints,
+                                                       @Const IntPointer offsets, @Cast("std::size_t") long nOffsets,
+                                                       @Const IntPointer layerOffsets, @Cast("std::size_t") long nLayerOffsets,
+                                                       @ByRef IntVector outOffsets, @ByRef IntVector outLayerOffsets);
+}
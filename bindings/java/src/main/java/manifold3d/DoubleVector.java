@@ -0,0 +1,32 @@
+package manifold3d;
+
+import java.nio.DoubleBuffer;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = "<vector>")
+@Name("std::vector<double>")
+public class DoubleVector extends Pointer {
+    static { Loader.load(); }
+
+    public DoubleVector(Pointer p) { super(p); }
+    public DoubleVector() { allocate(); }
+    private native void allocate();
+
+    public native @Cast("size_t") long size();
+    public native @Cast("bool") boolean empty();
+    public native void resize(@Cast("size_t") long n);
+    public native void reserve(@Cast("size_t") long n);
+    public native @Name("operator[]") double get(@Cast("size_t") long n);
+    public native @Name("push_back") void pushBack(double value);
+    public native DoublePointer data();
+
+    /** Direct view of the vector's memory, only valid while this vector is alive and unresized. */
+    public DoubleBuffer asBuffer() {
+        if (this.empty()) {
+            return DoubleBuffer.allocate(0);
+        }
+        return this.data().capacity(this.size()).asBuffer();
+    }
+}
@@ -0,0 +1,32 @@
+package manifold3d;
+
+import java.nio.IntBuffer;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = "<vector>")
+@Name("std::vector<int>")
+public class IntVector extends Pointer {
+    static { Loader.load(); }
+
+    public IntVector(Pointer p) { super(p); }
+    public IntVector() { allocate(); }
+    private native void allocate();
+
+    public native @Cast("size_t") long size();
+    public native @Cast("bool") boolean empty();
+    public native void resize(@Cast("size_t") long n);
+    public native void reserve(@Cast("size_t") long n);
+    public native @Name("operator[]") int get(@Cast("size_t") long n);
+    public native @Name("push_back") void pushBack(int value);
+    public native IntPointer data();
+
+    /** Direct view of the vector's memory, only valid while this vector is alive and unresized. */
+    public IntBuffer asBuffer() {
+        if (this.empty()) {
+            return IntBuffer.allocate(0);
+        }
+        return this.data().capacity(this.size()).asBuffer();
+    }
+}
@@ -0,0 +1,33 @@
+package manifold3d;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.Manifold;
+import manifold3d.manifold.CrossSection;
+import manifold3d.glm.DoubleMat4x3;
+import manifold3d.pub.Polygons;
+import manifold3d.pub.SimplePolygon;
+
+/**
+ * Incremental EagerNearestNeighbor loft: push sections and their frames one at
+ * a time, then call build(). Only the previous section is kept on the native
+ * side, so long sweeps need not be materialized up front.
+ */
+@Platform(compiler = "cpp17", include = {"mesh_utils.hpp"}, linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS }, link = {"manifold"})
+@Name("MeshUtils::LoftBuilder")
+public class LoftBuilder extends Pointer {
+    static { Loader.load(); }
+
+    public LoftBuilder() { allocate(); }
+    private native void allocate();
+
+    @Name("Add") public native void add(@Const @ByRef Polygons section, @Const @ByRef DoubleMat4x3 transform);
+    @Name("Add") public native void add(@Const @ByRef SimplePolygon section, @Const @ByRef DoubleMat4x3 transform);
+    @Name("Add") public native void add(@Const @ByRef CrossSection section, @Const @ByRef DoubleMat4x3 transform);
+
+    @Name("NumSections") public native @Cast("std::size_t") long numSections();
+    @Name("Build") public native @ByVal Manifold build();
+    @Name("Reset") public native void reset();
+}
@@ -9,8 +9,13 @@ import manifold3d.pub.DoubleMesh;
 import manifold3d.UIntVector;
 import manifold3d.FloatVector;
 
-import java.io.IOException;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 import manifold3d.ManifoldPair;
 import manifold3d.ManifoldVector;
@@ -42,54 +47,7 @@ import org.bytedeco.javacpp.annotation.*;
 @Namespace("manifold")
 public class Manifold extends Pointer {
     static {
-
-        String osName = System.getProperty("os.name").toLowerCase();
-        if (osName.contains("linux")) {
-            try {
-                System.load(Loader.extractResource("/libfreetype.so", null, "libfreetype", ".so").getAbsolutePath());
-                System.load(Loader.extractResource("/libmeshIO.so", null, "libmeshIO", ".so").getAbsolutePath());
-                System.load(Loader.extractResource("/libmeshIO.so", null, "libmeshIO", ".so").getAbsolutePath());
-                System.load(Loader.extractResource("/libClipper2.so", null, "libClipper2", ".so").getAbsolutePath());
-                System.load(Loader.extractResource("/libmanifold.so", null, "libmanifold", ".so").getAbsolutePath());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } else if (osName.contains("windows")) {
-            try {
-                System.out.println("Loading meshIO");
-                System.load(Loader.extractResource("/meshIO.dll", null, "meshIO", ".dll").getAbsolutePath());
-                System.out.println("Loading Clipper");
-                System.load(Loader.extractResource("/Clipper2.dll", null, "Clipper2", ".dll").getAbsolutePath());
-                System.out.println("Loading manifold");
-                System.load(Loader.extractResource("/manifold.dll", null, "manifold", ".dll").getAbsolutePath());
-                System.out.println("Finished Loading.");
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } else if (osName.contains("mac")) {
-            try {
-                try{
-                    System.load("/opt/homebrew/opt/assimp/lib/libassimp.5.dylib");
-                    System.load("/opt/homebrew/opt/harfbuzz/lib/libharfbuzz.0.dylib");
-                }catch (Exception e){}
-
-                System.out.println("Loading freetype");
-                System.load(Loader.extractResource("/libfreetype.6.16.0.dylib", null, "libfreetype", ".dylib").getAbsolutePath());
-                System.out.println("Loading meshIO");
-                System.load(Loader.extractResource("/libmeshIO.dylib", null, "libmeshIO", ".dylib").getAbsolutePath());
-                System.out.println("Loading Manifold");
-                System.load(Loader.extractResource("/libmanifold.2.4.5.dylib", null, "libmanifold", ".dylib").getAbsolutePath());
-                System.out.println("Loading Clipper");
-                System.load(Loader.extractResource("/libClipper2.1.3.0.dylib", null, "libClipper2", ".dylib").getAbsolutePath());
-                System.out.println("Finished Loading.");
-
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } else {
-            throw new UnsupportedOperationException("Unsupported operating system: " + osName);
-        }
-
+        NativeLibraries.loadCore();
         Loader.load();
     }
 
@@ -125,6 +83,68 @@ public class Manifold extends Pointer {
     @Name("CalculateCurvature") public native @ByVal Manifold calculateCurvature(int gaussianIdx, int meanIdx);
     @Name("OriginalID") public native int originalID();
     @Name("AsOriginal") public native @ByVal Manifold asOriginal();
+    @Name("NumOverlaps") public native int numOverlaps(@ByRef Manifold other);
+
+    // Spatial queries; points and directions are packed xyz triples.
+    private static int numTriples(DoubleBuffer buffer) {
+        if (buffer.remaining() % 3 != 0) {
+            throw new IllegalArgumentException("Buffer length must be a multiple of 3, got " + buffer.remaining() + ".");
+        }
+        return buffer.remaining() / 3;
+    }
+
+    public RayHits rayCast(DoubleBuffer origins, DoubleBuffer directions) {
+        int nRays = numTriples(origins);
+        if (numTriples(directions) != nRays) {
+            throw new IllegalArgumentException("Must have the same number of ray origins and directions.");
+        }
+        RayHits hits = new RayHits(nRays);
+        ManifoldUtils.RayCast(this, new DoublePointer(origins), new DoublePointer(directions), nRays,
+                              new DoublePointer(hits.distances), new IntPointer(hits.triangles), new DoublePointer(hits.barycentrics));
+        return hits;
+    }
+
+    public SurfacePoints closestPoints(DoubleBuffer points) {
+        int nPoints = numTriples(points);
+        SurfacePoints result = new SurfacePoints(nPoints);
+        ManifoldUtils.ClosestPoints(this, new DoublePointer(points), nPoints,
+                                    new DoublePointer(result.positions), new IntPointer(result.triangles), new DoublePointer(result.signedDistances));
+        return result;
+    }
+
+    // One byte per point: 1 if strictly inside, 0 otherwise.
+    public ByteBuffer contains(DoubleBuffer points) {
+        int nPoints = numTriples(points);
+        ByteBuffer inside = ByteBuffer.allocateDirect(nPoints);
+        ManifoldUtils.Contains(this, new DoublePointer(points), nPoints, new BytePointer(inside));
+        return inside;
+    }
+
+    public BitSet containsBits(DoubleBuffer points) {
+        ByteBuffer inside = this.contains(points);
+        BitSet bits = new BitSet(inside.capacity());
+        for (int i = 0; i < inside.capacity(); i++) {
+            if (inside.get(i) != 0) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    // Signed distance, positive inside, on gridSize + 1 points per axis spanning
+    // bounds with x varying fastest. offset and shell mesh it with LevelSet.
+    @Name("SampleSDF") public native @ByVal FloatVector sampleSDF(@ByRef Box bounds, @ByRef IntegerVec3 gridSize);
+    @Name("Offset") public native @ByVal Manifold offset(float delta, float edgeLength);
+    @Name("Shell") public native @ByVal Manifold shell(float thickness, float edgeLength);
+
+    // Interleaved GPU vertex and index buffers, see RenderLayout and RenderMesh.
+    public RenderMesh toRenderBuffers(RenderLayout layout) {
+        return new RenderMesh(this, layout);
+    }
+
+    public IntBuffer toRenderBuffers(RenderLayout layout, ByteBuffer vertices, ByteBuffer indices) {
+        return this.toRenderBuffers(layout).write(vertices, indices);
+    }
 
     @Name("Hull") public native @ByVal Manifold convexHull();
     @Name("Hull") public static native @ByVal Manifold ConvexHull(@ByRef ManifoldVector manifolds);
@@ -204,9 +224,28 @@ public class Manifold extends Pointer {
     @Name("RefineToLength")
     public native @ByVal Manifold refineToLength(float length);
 
+    @Name("Decimate")
+    public native @ByVal Manifold decimate(int targetTris, float maxError);
+
+    @Name("LODs")
+    public native @ByVal ManifoldVector lods(int levels, float ratio);
+
     @Name("BatchBoolean")
     public static native @ByVal Manifold BatchBoolean(@ByRef ManifoldVector manifolds, @Cast("manifold::OpType") int op);
 
+    // Forces many independent jobs in one native call, scheduled together.
+    @Name("EvaluateAll")
+    public static native @ByVal ManifoldVector EvaluateAll(@Const @ByRef ManifoldVector manifolds);
+
+    public static List<Manifold> evaluateAll(List<Manifold> manifolds) {
+        ManifoldVector results = EvaluateAll(new ManifoldVector(manifolds.toArray(new Manifold[0])));
+        List<Manifold> list = new ArrayList<>(manifolds.size());
+        for (Manifold manifold : results) {
+            list.add(new Manifold(manifold));
+        }
+        return list;
+    }
+
     //// Static methods
     public static native @ByVal Manifold Smooth(@ByRef MeshGL mesh, @ByRef SmoothnessVector sharpenedEdges);
     public static native @ByVal Manifold Smooth(@ByRef DoubleMesh mesh, @ByRef SmoothnessVector sharpenedEdges);
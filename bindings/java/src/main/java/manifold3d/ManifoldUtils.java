@@ -0,0 +1,21 @@
+package manifold3d;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.Manifold;
+
+@Platform(compiler = "cpp17", include = {"manifold_utils.hpp"}, linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS }, link = {"manifold"})
+public class ManifoldUtils extends Pointer {
+    static { Loader.load(); }
+
+    public ManifoldUtils() { }
+
+    public static native void RayCast(@Const @ByRef Manifold manifold, @Const DoublePointer origins, @Const DoublePointer directions, @Cast("std::size_t") long nRays,
+                                      DoublePointer distances, IntPointer tris, DoublePointer barycentric);
+    public static native void ClosestPoints(@Const @ByRef Manifold manifold, @Const DoublePointer points, @Cast("std::size_t") long nPoints,
+                                            DoublePointer positions, IntPointer tris, DoublePointer signedDistances);
+    public static native @ByVal IntVector Overlaps(@Const @ByRef Scene scene, @Cast("bool") boolean exact);
+    public static native void Contains(@Const @ByRef Manifold manifold, @Const DoublePointer points, @Cast("std::size_t") long nPoints, @Cast("uint8_t*") BytePointer inside);
+}
@@ -10,6 +10,10 @@ import manifold3d.Manifold;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
 
 @Platform(compiler = "cpp17", include = {"manifold.h", "<vector>"}, linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS }, link = { "manifold" })
 @Name("std::vector<manifold::Manifold>")
@@ -42,6 +46,19 @@ public class ManifoldVector extends Pointer implements Iterable<Manifold>  {
         };
     }
 
+    @Override
+    public Spliterator<Manifold> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<Manifold> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Manifold> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public ManifoldVector(@Cast("size_t") long size) { allocate(size); }
     public native void allocate(@Cast("size_t") long size);
 
@@ -40,6 +40,28 @@ public class MeshUtils extends Pointer {
 
         return Polyhedron(verticesPtr, nVertices, faceBufPtr, lengthsPtr, nFaces);
     }
+
+    public static native @ByVal IntVector TriangulateSets(@Const DoublePointer points, @Cast("std::size_t") long nPoints,
+                                                          @Const IntPointer contourOffsets, @Cast("std::size_t") long nContourOffsets,
+                                                          @Const IntPointer setOffsets, @Cast("std::size_t") long nSetOffsets,
+                                                          float precision, @ByRef IntVector outSetOffsets);
+    // points holds xy pairs; contour i spans points contourOffsets[i] to
+    // contourOffsets[i + 1], and set i spans contours setOffsets[i] to
+    // setOffsets[i + 1]. Each set is triangulated on its own, in parallel.
+    // A negative precision is derived from the points' extent. Offsets that
+    // decrease or fall outside the buffers throw before anything is read.
+    public static Triangulation Triangulate(DoubleBuffer points, IntBuffer contourOffsets, IntBuffer setOffsets, float precision) {
+        IntVector outSetOffsets = new IntVector();
+        IntVector triangles = TriangulateSets(new DoublePointer(points), points.remaining(),
+                                              new IntPointer(contourOffsets), contourOffsets.remaining(),
+                                              new IntPointer(setOffsets), setOffsets.remaining(),
+                                              precision, outSetOffsets);
+        return new Triangulation(triangles, outSetOffsets);
+    }
+    public static Triangulation Triangulate(DoubleBuffer points, IntBuffer contourOffsets, IntBuffer setOffsets) {
+        return Triangulate(points, contourOffsets, setOffsets, -1);
+    }
+
     public static native @ByVal Manifold Loft(@ByRef SimplePolygon polygon, @ByRef DoubleMat4x3Vector transforms);
     public static native @ByVal Manifold Loft(@ByRef SimplePolygon polygon, @ByRef DoubleMat4x3Vector transforms, LoftAlgorithm algorithmEnum);
     public static native @ByVal Manifold Loft(@ByRef Polygons polygons, @ByRef DoubleMat4x3Vector transforms);
@@ -0,0 +1,281 @@
+package manifold3d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the bundled native libraries. Each one is extracted once into a
+ * versioned cache directory and reused by later JVMs as long as it still
+ * matches the SHA-256 recorded for it at build time, so a warm start neither
+ * reads the jar payload nor writes. The core
+ * libraries are loaded by Manifold; meshIO, which pulls in Assimp, is only
+ * loaded the first time MeshIO or GLBWriter is used.
+ *
+ * The manifoldc C API library is only extracted, by manifoldC(), for the
+ * java.lang.foreign backend in manifold3d.ffm.
+ *
+ * The cache defaults to ~/.cache/manifold3d/VERSION, where VERSION is the
+ * jar's Implementation-Version (dev when running from unpackaged classes),
+ * and can be moved with the manifold3d.cache.dir system property.
+ */
+public final class NativeLibraries {
+    private static boolean coreLoaded = false;
+    private static boolean meshIOLoaded = false;
+    private static Path cacheDir = null;
+    private static Map<String, String> checksums = null;
+
+    private NativeLibraries() { }
+
+    public static synchronized void loadCore() {
+        if (coreLoaded) {
+            return;
+        }
+        String osName = System.getProperty("os.name").toLowerCase();
+        if (osName.contains("linux")) {
+            load("libfreetype.so");
+            load("libClipper2.so");
+            load("libmanifold.so");
+        } else if (osName.contains("windows")) {
+            load("Clipper2.dll");
+            load("manifold.dll");
+        } else if (osName.contains("mac")) {
+            loadOptional("/opt/homebrew/opt/harfbuzz/lib/libharfbuzz.0.dylib");
+            load("libfreetype.6.16.0.dylib");
+            load("libmanifold.2.4.5.dylib");
+            load("libClipper2.1.3.0.dylib");
+        } else {
+            throw new UnsupportedOperationException("Unsupported operating system: " + osName);
+        }
+        coreLoaded = true;
+    }
+
+    public static synchronized void loadMeshIO() {
+        if (meshIOLoaded) {
+            return;
+        }
+        loadCore();
+        String osName = System.getProperty("os.name").toLowerCase();
+        if (osName.contains("linux")) {
+            load("libmeshIO.so");
+        } else if (osName.contains("windows")) {
+            load("meshIO.dll");
+        } else {
+            loadOptional("/opt/homebrew/opt/assimp/lib/libassimp.5.dylib");
+            load("libmeshIO.dylib");
+        }
+        meshIOLoaded = true;
+    }
+
+    /**
+     * Loads the core libraries and returns the cached copy of the manifoldc C
+     * API library, for the java.lang.foreign backend to look its symbols up in.
+     */
+    public static synchronized Path manifoldC() {
+        loadCore();
+        String osName = System.getProperty("os.name").toLowerCase();
+        String name = osName.contains("windows") ? "manifoldc.dll"
+            : osName.contains("mac") ? "libmanifoldc.dylib" : "libmanifoldc.so";
+        try {
+            return extract(name);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extract " + name, e);
+        }
+    }
+
+    private static void loadOptional(String path) {
+        try {
+            System.load(path);
+        } catch (UnsatisfiedLinkError e) {
+            // Fall back to whatever the system loader finds.
+        }
+    }
+
+    private static void load(String name) {
+        try {
+            System.load(extract(name).toAbsolutePath().toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extract " + name, e);
+        }
+    }
+
+    /**
+     * Returns the cached copy of a bundled library, writing it first if it is
+     * missing or does not match. The file keeps its bundled name, so the
+     * dynamic linker can match it against other libraries' dependencies.
+     *
+     * The expected SHA-256 comes from the build-time manifest, so a warm start
+     * never reads the bundled payload. Next to each cached library a stamp
+     * records the hash it was verified against along with the file's size and
+     * modification time; while those still match, the library is not hashed
+     * again either.
+     */
+    private static Path extract(String name) throws IOException {
+        String expected = checksums().get(name);
+        Path target = cacheDir().resolve(name);
+        Path stampFile = cacheDir().resolve(name + ".sha256");
+        if (expected != null && Files.isRegularFile(target)) {
+            if (stamp(target, expected).equals(readStamp(stampFile))) {
+                return target;
+            }
+            if (expected.equals(sha256(target))) {
+                writeStamp(stampFile, stamp(target, expected));
+                return target;
+            }
+        }
+
+        // Other JVMs may be extracting the same file, so write privately and
+        // move into place atomically.
+        Path temp = Files.createTempFile(target.getParent(), name, ".tmp");
+        try {
+            String actual;
+            try (InputStream in = NativeLibraries.class.getResourceAsStream("/" + name)) {
+                if (in == null) {
+                    throw new IOException("Missing bundled library " + name);
+                }
+                MessageDigest digest = sha256();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    in.transferTo(out);
+                }
+                actual = hex(digest.digest());
+            }
+            if (expected != null && !expected.equals(actual)) {
+                throw new IOException("Bundled library " + name + " does not match its checksum");
+            }
+            if (expected == null && Files.isRegularFile(target) && actual.equals(sha256(target))) {
+                return target;
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            writeStamp(stampFile, stamp(target, actual));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    /**
+     * Library name to SHA-256 hex, from the native-libraries.sha256 resource
+     * the build writes in sha256sum format. Empty when it is missing, e.g. when
+     * running against an unpackaged build, in which case extract falls back to
+     * hashing the bundled copy.
+     */
+    private static synchronized Map<String, String> checksums() throws IOException {
+        if (checksums != null) {
+            return checksums;
+        }
+        Map<String, String> result = new HashMap<>();
+        try (InputStream in = NativeLibraries.class.getResourceAsStream("/native-libraries.sha256")) {
+            if (in != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    String[] fields = line.trim().split("\\s+\\*?", 2);
+                    if (fields.length == 2) {
+                        result.put(fields[1], fields[0].toLowerCase());
+                    }
+                }
+            }
+        }
+        checksums = result;
+        return result;
+    }
+
+    private static String stamp(Path file, String checksum) throws IOException {
+        return checksum + " " + Files.size(file) + " " + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private static String readStamp(Path stamp) {
+        try {
+            return new String(Files.readAllBytes(stamp), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeStamp(Path stamp, String value) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(stamp.getParent(), stamp.getFileName().toString(), ".tmp");
+            Files.write(temp, value.getBytes(StandardCharsets.US_ASCII));
+            Files.move(temp, stamp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // The stamp only saves rehashing on the next start.
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // Left for the next extraction to overwrite.
+                }
+            }
+        }
+    }
+
+    private static Path cacheDir() throws IOException {
+        if (cacheDir != null) {
+            return cacheDir;
+        }
+        String version = NativeLibraries.class.getPackage().getImplementationVersion();
+        if (version == null) {
+            version = "dev";
+        }
+        String configured = System.getProperty("manifold3d.cache.dir");
+        Path dir = configured != null
+            ? Paths.get(configured, version)
+            : Paths.get(System.getProperty("user.home"), ".cache", "manifold3d", version);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            if (configured != null) {
+                throw e;
+            }
+            // Read-only home directory; fall back to a per-user temp cache.
+            dir = Paths.get(System.getProperty("java.io.tmpdir"),
+                            "manifold3d-" + System.getProperty("user.name"), version);
+            Files.createDirectories(dir);
+        }
+        cacheDir = dir;
+        return dir;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package manifold3d;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Results of Manifold.rayCast, one entry per ray. A miss has triangle -1 and an
+ * infinite distance; barycentrics hold three weights per ray.
+ */
+public class RayHits {
+    public final DoubleBuffer distances;
+    public final IntBuffer triangles;
+    public final DoubleBuffer barycentrics;
+
+    RayHits(int nRays) {
+        this.distances = ByteBuffer.allocateDirect(nRays * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        this.triangles = ByteBuffer.allocateDirect(nRays * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.barycentrics = ByteBuffer.allocateDirect(3 * nRays * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    public int size() { return distances.capacity(); }
+}
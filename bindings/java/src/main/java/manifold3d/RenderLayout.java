@@ -0,0 +1,34 @@
+package manifold3d;
+
+/**
+ * Vertex layout for Manifold.toRenderBuffers. Every vertex starts with an xyz
+ * position, optionally followed by a normal and an RGB(A) color read from the
+ * given property channels, all as 32-bit floats. Indices are 16-bit when
+ * shortIndices is set, 32-bit otherwise.
+ */
+public class RenderLayout {
+    public int normalIdx = -1;
+    public int colorIdx = -1;
+    public int colorWidth = 4;
+    public boolean shortIndices = false;
+
+    public RenderLayout() { }
+
+    public RenderLayout normals(int normalIdx) {
+        this.normalIdx = normalIdx;
+        return this;
+    }
+
+    public RenderLayout colors(int colorIdx, int colorWidth) {
+        this.colorIdx = colorIdx;
+        this.colorWidth = colorWidth;
+        return this;
+    }
+
+    public RenderLayout shortIndices(boolean shortIndices) {
+        this.shortIndices = shortIndices;
+        return this;
+    }
+
+    public int indexBytes() { return shortIndices ? Short.BYTES : Integer.BYTES; }
+}
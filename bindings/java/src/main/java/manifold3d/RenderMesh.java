@@ -0,0 +1,80 @@
+package manifold3d;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.Manifold;
+
+/**
+ * Render-ready copy of a Manifold, see Manifold.toRenderBuffers. Query the
+ * sizes, then write the vertices and indices straight into direct buffers,
+ * e.g. mapped GPU buffers, without going through Java arrays.
+ */
+@Platform(compiler = "cpp17", include = {"manifold_utils.hpp"}, linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS }, link = {"manifold"})
+@Name("ManifoldUtils::RenderMesh")
+public class RenderMesh extends Pointer {
+    static { Loader.load(); }
+
+    private final RenderLayout layout;
+
+    public RenderMesh(Manifold manifold, RenderLayout layout) {
+        this.layout = layout;
+        allocate(manifold, layout.normalIdx, layout.colorIdx, layout.colorWidth);
+    }
+    private native void allocate(@Const @ByRef Manifold manifold, int normalIdx, int colorIdx, int colorWidth);
+
+    @Name("NumVert") public native int numVert();
+    @Name("NumIndex") public native int numIndex();
+    // Floats per vertex.
+    @Name("Stride") public native int stride();
+
+    @Name("WriteVertices") private native void writeVertices(@Cast("float*") BytePointer out);
+    @Name("WriteIndices") private native void writeIndices(@Cast("uint16_t*") ShortPointer out);
+    @Name("WriteIndices") private native void writeIndices(@Cast("uint32_t*") IntPointer out);
+    @Name("DrawRanges") private native @ByVal IntVector drawRangeVector();
+
+    public RenderLayout layout() { return layout; }
+    public long vertexBytes() { return (long) numVert() * stride() * Float.BYTES; }
+    public long indexBytes() { return (long) numIndex() * layout.indexBytes(); }
+
+    /**
+     * Fills vertices and indices from their current positions, in native byte
+     * order, and returns the draw ranges. Both buffers must be direct and have
+     * at least vertexBytes() and indexBytes() remaining.
+     */
+    public IntBuffer write(ByteBuffer vertices, ByteBuffer indices) {
+        if (!vertices.isDirect() || !indices.isDirect()) {
+            throw new IllegalArgumentException("Render buffers must be direct.");
+        }
+        if (vertices.remaining() < vertexBytes() || indices.remaining() < indexBytes()) {
+            throw new IllegalArgumentException("Render buffers are too small.");
+        }
+        writeVertices(new BytePointer(vertices));
+        ByteBuffer indexView = indices.slice().order(ByteOrder.nativeOrder());
+        if (layout.shortIndices) {
+            writeIndices(new ShortPointer(indexView.asShortBuffer()));
+        } else {
+            writeIndices(new IntPointer(indexView.asIntBuffer()));
+        }
+        return drawRanges();
+    }
+
+    /**
+     * Flattened [firstIndex, indexCount, originalID] triples, one per non-empty
+     * run, in the order of MeshGL.runIndex.
+     */
+    public IntBuffer drawRanges() {
+        IntVector ranges = drawRangeVector();
+        IntBuffer result = ByteBuffer.allocateDirect((int) ranges.size() * Integer.BYTES)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int i = 0; i < ranges.size(); i++) {
+            result.put(i, ranges.get(i));
+        }
+        return result;
+    }
+}
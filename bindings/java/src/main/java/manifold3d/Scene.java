@@ -0,0 +1,40 @@
+package manifold3d;
+
+import java.nio.IntBuffer;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.Manifold;
+import manifold3d.ManifoldVector;
+import manifold3d.glm.DoubleMat4x3;
+
+@Platform(compiler = "cpp17", include = {"manifold.h", "manifold_utils.hpp"},
+          linkpath = { LibraryPaths.MANIFOLD_LIB_DIR, LibraryPaths.MANIFOLD_LIB_DIR_WINDOWS },
+          link = { "manifold" })
+@Namespace("manifold")
+public class Scene extends Pointer {
+    static { Loader.load(); }
+
+    public Scene(@Const @ByRef ManifoldVector parts) { allocate(parts); }
+    private native void allocate(@Const @ByRef ManifoldVector parts);
+
+    @Name("NumParts") public native int numParts();
+    @Name("GetPart") public native @ByVal Manifold getPart(int i);
+    @Name("SetPart") public native void setPart(int i, @Const @ByRef Manifold part);
+    @Name("TransformPart") public native void transformPart(int i, @Const @ByRef DoubleMat4x3 transform);
+
+    // Overlapping part index pairs, flattened as [i0, j0, i1, j1, ...] with i < j.
+    // With exact set, parts whose surfaces only touch are included.
+    public IntBuffer overlaps(boolean exact) {
+        IntVector pairs = ManifoldUtils.Overlaps(this, exact);
+        int[] flat = new int[(int) pairs.size()];
+        pairs.asBuffer().get(flat);
+        return IntBuffer.wrap(flat);
+    }
+
+    public IntBuffer overlaps() {
+        return this.overlaps(true);
+    }
+}
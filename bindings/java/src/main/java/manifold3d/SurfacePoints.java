@@ -0,0 +1,25 @@
+package manifold3d;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Results of Manifold.closestPoints, one entry per query point: the nearest
+ * surface position (xyz), its triangle and the signed distance to it, which
+ * is negative for points inside the manifold.
+ */
+public class SurfacePoints {
+    public final DoubleBuffer positions;
+    public final IntBuffer triangles;
+    public final DoubleBuffer signedDistances;
+
+    SurfacePoints(int nPoints) {
+        this.positions = ByteBuffer.allocateDirect(3 * nPoints * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        this.triangles = ByteBuffer.allocateDirect(nPoints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.signedDistances = ByteBuffer.allocateDirect(nPoints * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    public int size() { return triangles.capacity(); }
+}
@@ -0,0 +1,24 @@
+package manifold3d;
+
+import java.nio.IntBuffer;
+
+/**
+ * Results of MeshUtils.Triangulate: triangles holds three point indices per
+ * triangle, indexing the input points, and set i's triangles are
+ * setOffsets[i] to setOffsets[i + 1] (in triangles, not ints). The buffers
+ * are views of native memory owned by this object.
+ */
+public class Triangulation {
+    private final IntVector triangleVec;
+    private final IntVector setOffsetVec;
+
+    Triangulation(IntVector triangles, IntVector setOffsets) {
+        this.triangleVec = triangles;
+        this.setOffsetVec = setOffsets;
+    }
+
+    public IntBuffer triangles() { return triangleVec.asBuffer(); }
+    public IntBuffer setOffsets() { return setOffsetVec.asBuffer(); }
+    public int numTriangles() { return (int) triangleVec.size() / 3; }
+    public int numSets() { return (int) setOffsetVec.size() - 1; }
+}
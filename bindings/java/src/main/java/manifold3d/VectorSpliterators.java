@@ -0,0 +1,164 @@
+package manifold3d;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Splittable spliterators over the native vectors, for stream() and
+ * parallelStream(). The primitive ones read direct views of the native memory,
+ * so they make no JNI calls per element. All of them take the size once, up
+ * front, and so are only valid while the vector is alive and not resized.
+ */
+public final class VectorSpliterators {
+    private static final int CHARACTERISTICS =
+        Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+
+    private VectorSpliterators() { }
+
+    /** Widens each float of the buffer, from its position to its limit, to a double. */
+    public static Spliterator.OfDouble ofFloats(FloatBuffer buffer) {
+        return new FloatSpliterator(buffer, buffer.position(), buffer.limit());
+    }
+
+    public static Spliterator.OfInt ofInts(IntBuffer buffer) {
+        return new IntSpliterator(buffer, buffer.position(), buffer.limit());
+    }
+
+    /** Elements 0 to size - 1 of an object vector, fetched with get. */
+    public static <T> Spliterator<T> ofIndices(long size, LongFunction<T> get) {
+        return new IndexSpliterator<>(get, 0, size);
+    }
+
+    private static final class FloatSpliterator implements Spliterator.OfDouble {
+        private final FloatBuffer buffer;
+        private int index;
+        private final int end;
+
+        FloatSpliterator(FloatBuffer buffer, int index, int end) {
+            this.buffer = buffer;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(buffer.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            for (; index < end; index++) {
+                action.accept(buffer.get(index));
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            int mid = (index + end) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator.OfDouble prefix = new FloatSpliterator(buffer, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() { return end - index; }
+
+        @Override
+        public int characteristics() { return CHARACTERISTICS; }
+    }
+
+    private static final class IntSpliterator implements Spliterator.OfInt {
+        private final IntBuffer buffer;
+        private int index;
+        private final int end;
+
+        IntSpliterator(IntBuffer buffer, int index, int end) {
+            this.buffer = buffer;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(buffer.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (; index < end; index++) {
+                action.accept(buffer.get(index));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int mid = (index + end) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new IntSpliterator(buffer, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() { return end - index; }
+
+        @Override
+        public int characteristics() { return CHARACTERISTICS; }
+    }
+
+    private static final class IndexSpliterator<T> implements Spliterator<T> {
+        private final LongFunction<T> get;
+        private long index;
+        private final long end;
+
+        IndexSpliterator(LongFunction<T> get, long index, long end) {
+            this.get = get;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(get.apply(index++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long mid = (index + end) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<T> prefix = new IndexSpliterator<>(get, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() { return end - index; }
+
+        @Override
+        public int characteristics() { return CHARACTERISTICS; }
+    }
+}
@@ -15,6 +15,12 @@ import org.bytedeco.javacpp.annotation.*;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
+import java.nio.FloatBuffer;
+import java.util.stream.DoubleStream;
 
 @Platform(compiler = "cpp17", include = {"<vector>", "glm/glm.hpp"})
 @Name("std::vector<glm::vec3>")
@@ -42,6 +48,38 @@ public class DoubleVec3Vector extends Pointer implements Iterable<DoubleVec3> {
         };
     }
 
+    @Override
+    public Spliterator<DoubleVec3> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<DoubleVec3> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<DoubleVec3> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Name("data") private native @Cast("float*") FloatPointer floatData();
+
+    /** Direct view of the xyz components, only valid while this vector is alive and unresized. */
+    public FloatBuffer asFloatBuffer() {
+        if (this.size() == 0) {
+            return FloatBuffer.allocate(0);
+        }
+        return this.floatData().capacity(3 * this.size()).asBuffer();
+    }
+
+    // Flattened xyz components, widened to double, without per-element JNI.
+    public DoubleStream doubleStream() {
+        return StreamSupport.doubleStream(VectorSpliterators.ofFloats(asFloatBuffer()), false);
+    }
+
+    public DoubleStream parallelDoubleStream() {
+        return StreamSupport.doubleStream(VectorSpliterators.ofFloats(asFloatBuffer()), true);
+    }
+
     @Override
     public String toString() {
         return "value=" + Arrays.deepToString(this.toArrays()) + '}';
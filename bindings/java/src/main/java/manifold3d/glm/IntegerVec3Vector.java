@@ -12,6 +12,11 @@ import org.bytedeco.javacpp.annotation.*;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
+import java.util.stream.IntStream;
 
 @Platform(compiler = "cpp17", include = {"<vector>", "glm/glm.hpp"})
 @Name("std::vector<glm::ivec3>")
@@ -39,6 +44,38 @@ public class IntegerVec3Vector extends Pointer implements Iterable<IntegerVec3>
         };
     }
 
+    @Override
+    public Spliterator<IntegerVec3> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<IntegerVec3> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<IntegerVec3> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Name("data") private native @Cast("int*") IntPointer intData();
+
+    /** Direct view of the xyz components, only valid while this vector is alive and unresized. */
+    public IntBuffer asIntBuffer() {
+        if (this.size() == 0) {
+            return IntBuffer.allocate(0);
+        }
+        return this.intData().capacity(3 * this.size()).asBuffer();
+    }
+
+    // Flattened xyz components without per-element JNI.
+    public IntStream intStream() {
+        return StreamSupport.intStream(VectorSpliterators.ofInts(asIntBuffer()), false);
+    }
+
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(VectorSpliterators.ofInts(asIntBuffer()), true);
+    }
+
     public IntegerVec3Vector() { allocate(); }
     private native void allocate();
 
@@ -0,0 +1,31 @@
+package manifold3d.manifold;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+import manifold3d.DoubleVector;
+import manifold3d.IntVector;
+
+/**
+ * Open polylines in flat (CSR) form: polyline i consists of the xy pairs in
+ * points from offsets[i] to offsets[i + 1] (in points, not doubles). For
+ * batched results, layer i consists of polylines layerOffsets[i] to
+ * layerOffsets[i + 1]. The buffers are views of native memory owned by this
+ * object.
+ */
+public class ClippedPaths {
+    private final DoubleVector pointVec;
+    private final IntVector offsetVec;
+    private final IntVector layerOffsetVec;
+
+    public ClippedPaths(DoubleVector points, IntVector offsets, IntVector layerOffsets) {
+        this.pointVec = points;
+        this.offsetVec = offsets;
+        this.layerOffsetVec = layerOffsets;
+    }
+
+    public DoubleBuffer points() { return pointVec.asBuffer(); }
+    public IntBuffer offsets() { return offsetVec.asBuffer(); }
+    public IntBuffer layerOffsets() { return layerOffsetVec.asBuffer(); }
+    public int numPaths() { return (int) offsetVec.size() - 1; }
+}
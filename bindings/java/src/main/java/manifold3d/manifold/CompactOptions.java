@@ -0,0 +1,21 @@
+package manifold3d.manifold;
+
+import manifold3d.IntVector;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = "meshIO.h")
+@Namespace("manifold")
+public class CompactOptions extends Pointer {
+    static { Loader.load(); }
+
+    public CompactOptions() { allocate(); }
+    public native void allocate();
+
+    public native @MemberGetter @ByRef IntVector channels();
+    public native @MemberSetter void channels(@ByRef IntVector channels);
+
+    public native @MemberGetter int propertyBits();
+    public native @MemberSetter void propertyBits(int propertyBits);
+}
@@ -3,7 +3,13 @@ package manifold3d.manifold;
 import org.bytedeco.javacpp.*;
 import org.bytedeco.javacpp.annotation.*;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
 import manifold3d.LibraryPaths;
+import manifold3d.CrossSectionUtils;
+import manifold3d.DoubleVector;
+import manifold3d.IntVector;
 import manifold3d.glm.DoubleVec2;
 import manifold3d.glm.DoubleMat3x2;
 import manifold3d.manifold.Rect;
@@ -78,6 +84,16 @@ public class CrossSection extends Pointer {
 
     @Name("Offset") public native @ByVal CrossSection offset(double delta, @Cast("manifold::CrossSection::JoinType") int joinType, double miterLimit, int arcTolerance);
 
+    @Name("Offsets") public native @ByVal CrossSectionVector offsets(@StdVector DoublePointer deltas, @Cast("manifold::CrossSection::JoinType") int joinType, double miterLimit, int arcTolerance);
+    public CrossSectionVector offsets(double[] deltas, int joinType, double miterLimit, int arcTolerance) {
+        return this.offsets(new DoublePointer(deltas), joinType, miterLimit, arcTolerance);
+    }
+
+    @Name("Offsets") public static native @ByVal CrossSectionVector Offsets(@ByRef CrossSectionVector sections, @StdVector DoublePointer deltas, @Cast("manifold::CrossSection::JoinType") int joinType, double miterLimit, int arcTolerance);
+    public static CrossSectionVector Offsets(CrossSectionVector sections, double[] deltas, int joinType, double miterLimit, int arcTolerance) {
+        return CrossSection.Offsets(sections, new DoublePointer(deltas), joinType, miterLimit, arcTolerance);
+    }
+
     @Name("Boolean") public native @ByVal CrossSection booleanOp(@ByRef CrossSection second, @Cast("manifold::OpType") int op);
     public static native @ByVal CrossSection BatchBoolean(@ByRef CrossSectionVector sections, @Cast("manifold::OpType") int op);
 
@@ -97,10 +113,33 @@ public class CrossSection extends Pointer {
     @Name("operator^") public native @ByVal CrossSection intersect(@ByRef CrossSection rhs);
     @Name("operator^=") public native @ByVal CrossSection intersectPut(@ByRef CrossSection rhs);
 
+    @Name("ClipPaths") public native @ByVal Polygons clipPaths(@ByRef Polygons openPaths);
+
+    // lines holds xy pairs, and polyline i spans points offsets[i] to offsets[i + 1].
+    // Offsets that decrease or fall outside the buffers throw before anything is read.
+    public ClippedPaths clipPaths(DoubleBuffer lines, IntBuffer offsets) {
+        IntVector outOffsets = new IntVector();
+        DoubleVector points = CrossSectionUtils.ClipPaths(this, new DoublePointer(lines), lines.remaining(),
+                                                          new IntPointer(offsets), offsets.remaining(), outOffsets);
+        return new ClippedPaths(points, outOffsets, new IntVector());
+    }
+
+    // layerOffsets[i] to layerOffsets[i + 1] are the polylines clipped against layers[i].
+    public static ClippedPaths ClipPaths(CrossSectionVector layers, DoubleBuffer lines, IntBuffer offsets, IntBuffer layerOffsets) {
+        IntVector outOffsets = new IntVector();
+        IntVector outLayerOffsets = new IntVector();
+        DoubleVector points = CrossSectionUtils.ClipPaths(layers, new DoublePointer(lines), lines.remaining(),
+                                                          new IntPointer(offsets), offsets.remaining(),
+                                                          new IntPointer(layerOffsets), layerOffsets.remaining(),
+                                                          outOffsets, outLayerOffsets);
+        return new ClippedPaths(points, outOffsets, outLayerOffsets);
+    }
+
     public static native @ByVal CrossSection Compose(@ByRef CrossSectionVector crossSection);
     @Name("Decompose") public native @ByVal CrossSectionVector decompose();
 
     public static native @ByVal CrossSection Text(@ByRef @StdString String fontFile, @ByRef @StdString String text, int pixelHeight, int interpRes, @Cast("manifold::CrossSection::FillRule") int fillRule);
+    public static native @ByVal CrossSection Text(@Const @ByRef Font font, @ByRef @StdString String text, int pixelHeight, int interpRes, @Cast("manifold::CrossSection::FillRule") int fillRule);
     public static native @ByVal CrossSection Circle(float radius, int circularSegments);
     public static native @ByVal CrossSection Square(@ByRef DoubleVec2 size, boolean center);
     public static CrossSection Square(double x, double y, boolean center) {
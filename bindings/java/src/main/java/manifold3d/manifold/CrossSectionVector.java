@@ -10,6 +10,10 @@ import manifold3d.manifold.CrossSection;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
 
 @Platform(compiler = "cpp17",
           include = {"manifold.h", "<vector>"},
@@ -41,6 +45,19 @@ public class CrossSectionVector extends Pointer implements Iterable<CrossSection
         };
     }
 
+    @Override
+    public Spliterator<CrossSection> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<CrossSection> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<CrossSection> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public CrossSectionVector() { allocate(); }
     public native void allocate();
 
@@ -16,6 +16,9 @@ public class ExportOptions extends Pointer {
     public native @MemberGetter boolean faceted();
     public native @MemberSetter void faceted(boolean faceted);
 
+    public native @MemberGetter boolean optimizeVertexCache();
+    public native @MemberSetter void optimizeVertexCache(boolean optimizeVertexCache);
+
     @Name("mat") public native @MemberGetter @ByRef Material material();
     @Name("mat") public native @MemberSetter void material(@ByRef Material material);
 }
@@ -0,0 +1,25 @@
+package manifold3d.manifold;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+import manifold3d.LibraryPaths;
+import manifold3d.pub.Polygons;
+
+@Platform(compiler = "cpp17",
+          include = { "cross_section.h" },
+          linkpath = { LibraryPaths.MANIFOLD_LIB_DIR,
+                       LibraryPaths.FREETYPE_LIB_DIR,
+                       LibraryPaths.TEXT_TO_POLYGON_LIB_DIR },
+          link = { "manifold", "TextToPolygon", "freetype" })
+@Namespace("manifold")
+public class Font extends Pointer {
+    static { Loader.load(); }
+
+    public Font(Pointer p) { super(p); }
+
+    public static native @ByVal Font Load(@StdString String fontFile);
+
+    @Name("Glyph") public native @ByVal Polygons glyph(@Cast("uint32_t") int codepoint, @Cast("uint32_t") int pixelHeight, int interpRes);
+    @Name("NumCachedGlyphs") public native @Cast("size_t") long numCachedGlyphs();
+}
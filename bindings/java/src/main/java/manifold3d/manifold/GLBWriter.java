@@ -0,0 +1,32 @@
+package manifold3d.manifold;
+
+import manifold3d.manifold.MeshGL;
+import manifold3d.manifold.ExportOptions;
+
+import manifold3d.LibraryPaths;
+import manifold3d.NativeLibraries;
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = {"meshIO.h"}, linkpath = { LibraryPaths.MESHIO_LIB_DIR, LibraryPaths.MESHIO_LIB_DIR_WINDOWS }, link = {"meshIO"})
+@Namespace("manifold")
+public class GLBWriter extends Pointer {
+    static {
+        NativeLibraries.loadMeshIO();
+        Loader.load();
+    }
+
+    // The native writer references the mesh rather than copying it.
+    private final MeshGL mesh;
+
+    public GLBWriter(@Const @ByRef MeshGL mesh, @Const @ByRef ExportOptions options) {
+        this.mesh = mesh;
+        allocate(mesh, options);
+    }
+    private native void allocate(@Const @ByRef MeshGL mesh, @Const @ByRef ExportOptions options);
+
+    @Name("Size") public native @Cast("size_t") long size();
+    @Name("Write") public native void write(@Cast("char*") BytePointer buffer);
+    // Writes bytes [offset, offset + size) of the GLB, for output in chunks.
+    @Name("Write") public native void write(@Cast("char*") BytePointer buffer, @Cast("size_t") long offset, @Cast("size_t") long size);
+}
@@ -3,8 +3,18 @@ package manifold3d.manifold;
 import manifold3d.pub.DoubleMesh;
 import manifold3d.manifold.MeshGL;
 import manifold3d.manifold.ExportOptions;
+import manifold3d.manifold.GLBWriter;
+import manifold3d.manifold.CompactOptions;
+import manifold3d.manifold.Meshlets;
+import manifold3d.ByteVector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
 
 import manifold3d.LibraryPaths;
+import manifold3d.NativeLibraries;
 import org.bytedeco.javacpp.*;
 import org.bytedeco.javacpp.annotation.*;
 
@@ -12,9 +22,69 @@ import org.bytedeco.javacpp.annotation.*;
 @Platform(compiler = "cpp17", include = {"meshIO.h"}, linkpath = { LibraryPaths.MESHIO_LIB_DIR, LibraryPaths.MESHIO_LIB_DIR_WINDOWS }, link = {"meshIO"})
 @Namespace("manifold")
 public class MeshIO {
-    static { Loader.load(); }
+    private static final int GLB_CHUNK_BYTES = 1 << 20;
+
+    static {
+        NativeLibraries.loadMeshIO();
+        Loader.load();
+    }
 
     public native static @ByVal DoubleMesh ImportMesh(@StdString String filename, @Cast("bool") boolean forceCleanup);
+    public native static @ByVal MeshGL ImportMeshGL(@StdString String filename);
+
+    public native static @ByVal ByteVector EncodeCompactMesh(@Const @ByRef MeshGL mesh, @Const @ByRef CompactOptions options);
+    public native static @ByVal MeshGL DecodeCompactMesh(@Cast("const uint8_t*") BytePointer data, @Cast("size_t") long size);
+
+    public static MeshGL DecodeCompactMesh(ByteBuffer data) {
+        return DecodeCompactMesh(new BytePointer(data), data.remaining());
+    }
+    // GPU-friendly ordering: vertex-cache optimized triangles and culling clusters.
+    public native static void OptimizeVertexCache(@ByRef MeshGL mesh, int cacheSize);
+    public native static @ByVal Meshlets BuildMeshlets(@Const @ByRef MeshGL mesh, int maxVerts, int maxTris);
+
     public native static void ExportMesh(@StdString String filename, @Const @ByRef DoubleMesh mesh, @Const @ByRef ExportOptions options);
     public native static void ExportMesh(@StdString String filename, @Const @ByRef MeshGL mesh, @Const @ByRef ExportOptions options);
+
+    // Native GLB export without Assimp or a temporary file.
+    public static ByteBuffer ExportGLB(MeshGL mesh, ExportOptions options) {
+        GLBWriter writer = new GLBWriter(mesh, options);
+        long size = writer.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The GLB needs " + size + " bytes, more than a ByteBuffer holds; "
+                                               + "export it to a WritableByteChannel instead.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        writer.write(new BytePointer(buffer));
+        return buffer;
+    }
+
+    // Writes the GLB at out's position and advances it past the written bytes.
+    public static void ExportGLB(MeshGL mesh, ExportOptions options, ByteBuffer out) {
+        if (!out.isDirect()) {
+            throw new IllegalArgumentException("ExportGLB requires a direct ByteBuffer.");
+        }
+        GLBWriter writer = new GLBWriter(mesh, options);
+        long size = writer.size();
+        if (out.remaining() < size) {
+            throw new IllegalArgumentException("ByteBuffer has " + out.remaining() + " bytes remaining, but the GLB needs " + size + ".");
+        }
+        writer.write(new BytePointer(out));
+        out.position(out.position() + (int) size);
+    }
+
+    // Streams the GLB through a fixed-size buffer, so the whole file is never held in memory.
+    public static void ExportGLB(MeshGL mesh, ExportOptions options, WritableByteChannel channel) throws IOException {
+        GLBWriter writer = new GLBWriter(mesh, options);
+        long size = writer.size();
+        ByteBuffer chunk = ByteBuffer.allocateDirect((int) Math.min(size, GLB_CHUNK_BYTES));
+        BytePointer pointer = new BytePointer(chunk);
+        for (long offset = 0; offset < size; offset += chunk.capacity()) {
+            int length = (int) Math.min(chunk.capacity(), size - offset);
+            writer.write(pointer, offset, length);
+            chunk.clear().limit(length);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+    }
 }
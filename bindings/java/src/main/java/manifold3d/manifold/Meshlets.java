@@ -0,0 +1,26 @@
+package manifold3d.manifold;
+
+import manifold3d.ByteVector;
+import manifold3d.FloatVector;
+import manifold3d.UIntVector;
+
+import org.bytedeco.javacpp.*;
+import org.bytedeco.javacpp.annotation.*;
+
+@Platform(compiler = "cpp17", include = "meshIO.h")
+@Namespace("manifold")
+public class Meshlets extends Pointer {
+    static { Loader.load(); }
+
+    public Meshlets() { allocate(); }
+    public native void allocate();
+
+    // Stride 5: vertexOffset, vertexCount, triangleOffset, triangleCount, run.
+    public native @MemberGetter @ByRef UIntVector ranges();
+    // Stride 8: sphere center xyz, radius, cone axis xyz, cone cutoff.
+    public native @MemberGetter @ByRef FloatVector bounds();
+    public native @MemberGetter @ByRef UIntVector meshletVerts();
+    public native @MemberGetter @ByRef ByteVector meshletTris();
+
+    @Name("NumMeshlet") public native @Cast("size_t") long numMeshlet();
+}
@@ -7,6 +7,10 @@ import org.bytedeco.javacpp.annotation.*;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
 
 @Platform(compiler = "cpp17", include = "manifold.h")
 @Namespace("manifold")
@@ -35,6 +39,19 @@ public class Polygons extends Pointer implements Iterable<SimplePolygon> {
         };
     }
 
+    @Override
+    public Spliterator<SimplePolygon> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<SimplePolygon> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<SimplePolygon> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public Polygons() { allocate(); }
     private native void allocate();
 
@@ -13,6 +13,12 @@ import org.bytedeco.javacpp.annotation.*;
 import java.util.Iterator;
 import java.lang.Iterable;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import manifold3d.VectorSpliterators;
+import java.nio.FloatBuffer;
+import java.util.stream.DoubleStream;
 
 @Platform(compiler = "cpp17", include = {"manifold.h"})
 @Namespace("manifold")
@@ -41,6 +47,38 @@ public class SimplePolygon extends Pointer implements Iterable<DoubleVec2> {
         };
     }
 
+    @Override
+    public Spliterator<DoubleVec2> spliterator() {
+        return VectorSpliterators.ofIndices(size(), this::get);
+    }
+
+    public Stream<DoubleVec2> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<DoubleVec2> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Name("data") private native @Cast("float*") FloatPointer floatData();
+
+    /** Direct view of the xy components, only valid while this vector is alive and unresized. */
+    public FloatBuffer asFloatBuffer() {
+        if (this.size() == 0) {
+            return FloatBuffer.allocate(0);
+        }
+        return this.floatData().capacity(2 * this.size()).asBuffer();
+    }
+
+    // Flattened xy components, widened to double, without per-element JNI.
+    public DoubleStream doubleStream() {
+        return StreamSupport.doubleStream(VectorSpliterators.ofFloats(asFloatBuffer()), false);
+    }
+
+    public DoubleStream parallelDoubleStream() {
+        return StreamSupport.doubleStream(VectorSpliterators.ofFloats(asFloatBuffer()), true);
+    }
+
     public SimplePolygon() { allocate(); }
     private native void allocate();
 
@@ -0,0 +1,210 @@
+package manifold3d.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+/**
+ * A manifold held in an Arena, driven through the manifoldc C API with
+ * java.lang.foreign instead of JavaCPP. Every result is placed in the arena
+ * passed to the call and destroyed when that arena closes, so a confined arena
+ * per job frees a whole CSG tree at once, with no per-object deallocators.
+ *
+ * This is an alternative to manifold3d.Manifold for JDK 22+, covering the
+ * calls that dominate CSG-heavy workloads; the two do not share objects, so
+ * convert through MeshGL to move between them.
+ */
+public final class Manifold {
+    private final MemorySegment handle;
+
+    private Manifold(MemorySegment handle) {
+        this.handle = handle;
+    }
+
+    /** The native ManifoldManifold, for passing to other manifoldc calls. */
+    public MemorySegment segment() { return handle; }
+
+    private static MemorySegment allocate(Arena arena) {
+        return ManifoldC.allocate(arena, ManifoldC.MANIFOLD_SIZE, ManifoldC.DESTRUCT_MANIFOLD);
+    }
+
+    //// Constructors
+
+    public static Manifold empty(Arena arena) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.EMPTY.invokeExact(result);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public static Manifold cube(Arena arena, float x, float y, float z, boolean center) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.CUBE.invokeExact(
+                result, x, y, z, center ? 1 : 0);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public static Manifold sphere(Arena arena, float radius, int circularSegments) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.SPHERE.invokeExact(
+                result, radius, circularSegments);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public static Manifold cylinder(Arena arena, float height, float radiusLow, float radiusHigh,
+                                    int circularSegments, boolean center) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.CYLINDER.invokeExact(
+                result, height, radiusLow, radiusHigh, circularSegments, center ? 1 : 0);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public static Manifold of(Arena arena, MeshGL mesh) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.OF_MESHGL.invokeExact(result, mesh.segment());
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    //// Booleans
+
+    private Manifold booleanOp(Arena arena, Manifold other, int op) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.BOOLEAN.invokeExact(
+                result, handle, other.handle, op);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public Manifold add(Arena arena, Manifold other) {
+        return booleanOp(arena, other, ManifoldC.ADD);
+    }
+
+    public Manifold subtract(Arena arena, Manifold other) {
+        return booleanOp(arena, other, ManifoldC.SUBTRACT);
+    }
+
+    public Manifold intersect(Arena arena, Manifold other) {
+        return booleanOp(arena, other, ManifoldC.INTERSECT);
+    }
+
+    //// Transforms
+
+    public Manifold translate(Arena arena, float x, float y, float z) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.TRANSLATE.invokeExact(result, handle, x, y, z);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public Manifold rotate(Arena arena, float x, float y, float z) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.ROTATE.invokeExact(result, handle, x, y, z);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public Manifold scale(Arena arena, float x, float y, float z) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.SCALE.invokeExact(result, handle, x, y, z);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    /** Applies a column-major 4x3 matrix, given as 12 floats. */
+    public Manifold transform(Arena arena, float[] m) {
+        if (m.length != 12) {
+            throw new IllegalArgumentException("Transform must have 12 elements.");
+        }
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.TRANSFORM.invokeExact(result, handle,
+                m[0], m[1], m[2], m[3], m[4], m[5], m[6], m[7], m[8], m[9], m[10], m[11]);
+            return new Manifold(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    //// Info
+
+    public boolean isEmpty() {
+        try {
+            return (int) ManifoldC.IS_EMPTY.invokeExact(handle) != 0;
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    /** The ManifoldError code, 0 when there is no error. */
+    public int status() {
+        try {
+            return (int) ManifoldC.STATUS.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public int numVert() {
+        try {
+            return (int) ManifoldC.NUM_VERT.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public int numTri() {
+        try {
+            return (int) ManifoldC.NUM_TRI.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    /** Surface area and volume. */
+    public float[] properties() {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment props = (MemorySegment) ManifoldC.GET_PROPERTIES.invokeExact(
+                (SegmentAllocator) arena, handle);
+            return props.toArray(JAVA_FLOAT);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public MeshGL getMeshGL(Arena arena) {
+        return MeshGL.of(arena, this);
+    }
+}
@@ -0,0 +1,148 @@
+package manifold3d.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+
+import manifold3d.NativeLibraries;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * Downcall handles into the manifoldc C API (bindings/c/include/manifoldc.h).
+ * Only the MeshGL size getters are linked as critical, skipping the thread
+ * state transition, since they just read a vector's size. Operations on a
+ * manifold only build lazy CSG nodes, so its getters may run a whole pending
+ * Boolean and must not be critical, or they would block the GC throughout.
+ */
+final class ManifoldC {
+    private static final Linker LINKER = Linker.nativeLinker();
+    private static final SymbolLookup LOOKUP =
+        SymbolLookup.libraryLookup(NativeLibraries.manifoldC(), Arena.global());
+    private static final Linker.Option CRITICAL = Linker.Option.critical(false);
+
+    /** ManifoldProperties, returned by value. */
+    static final StructLayout PROPERTIES = MemoryLayout.structLayout(
+        JAVA_FLOAT.withName("surface_area"), JAVA_FLOAT.withName("volume"));
+
+    // ManifoldOpType
+    static final int ADD = 0;
+    static final int SUBTRACT = 1;
+    static final int INTERSECT = 2;
+
+    static final long MANIFOLD_SIZE;
+    static final long MESHGL_SIZE;
+
+    static final MethodHandle DESTRUCT_MANIFOLD = handle("manifold_destruct_manifold",
+        FunctionDescriptor.ofVoid(ADDRESS));
+    static final MethodHandle DESTRUCT_MESHGL = handle("manifold_destruct_meshgl",
+        FunctionDescriptor.ofVoid(ADDRESS));
+
+    static final MethodHandle EMPTY = handle("manifold_empty",
+        FunctionDescriptor.of(ADDRESS, ADDRESS));
+    static final MethodHandle CUBE = handle("manifold_cube",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_INT));
+    static final MethodHandle SPHERE = handle("manifold_sphere",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_INT));
+    static final MethodHandle CYLINDER = handle("manifold_cylinder",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_INT, JAVA_INT));
+    static final MethodHandle OF_MESHGL = handle("manifold_of_meshgl",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS));
+
+    static final MethodHandle BOOLEAN = handle("manifold_boolean",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS, ADDRESS, JAVA_INT));
+    static final MethodHandle TRANSLATE = handle("manifold_translate",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT));
+    static final MethodHandle ROTATE = handle("manifold_rotate",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT));
+    static final MethodHandle SCALE = handle("manifold_scale",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT));
+    static final MethodHandle TRANSFORM = handle("manifold_transform",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS,
+                              JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT,
+                              JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT,
+                              JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT, JAVA_FLOAT));
+
+    static final MethodHandle IS_EMPTY = handle("manifold_is_empty",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS));
+    static final MethodHandle STATUS = handle("manifold_status",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS));
+    static final MethodHandle NUM_VERT = handle("manifold_num_vert",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS));
+    static final MethodHandle NUM_TRI = handle("manifold_num_tri",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS));
+    static final MethodHandle GET_PROPERTIES = handle("manifold_get_properties",
+        FunctionDescriptor.of(PROPERTIES, ADDRESS));
+
+    static final MethodHandle GET_MESHGL = handle("manifold_get_meshgl",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS));
+    static final MethodHandle MESHGL = handle("manifold_meshgl",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS, JAVA_LONG, JAVA_LONG, ADDRESS, JAVA_LONG));
+    static final MethodHandle MESHGL_NUM_PROP = handle("manifold_meshgl_num_prop",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS), CRITICAL);
+    static final MethodHandle MESHGL_NUM_VERT = handle("manifold_meshgl_num_vert",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS), CRITICAL);
+    static final MethodHandle MESHGL_NUM_TRI = handle("manifold_meshgl_num_tri",
+        FunctionDescriptor.of(JAVA_INT, ADDRESS), CRITICAL);
+    static final MethodHandle MESHGL_VERT_PROPERTIES = handle("manifold_meshgl_vert_properties",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS));
+    static final MethodHandle MESHGL_TRI_VERTS = handle("manifold_meshgl_tri_verts",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, ADDRESS));
+
+    static {
+        try {
+            MANIFOLD_SIZE = (long) handle("manifold_manifold_size",
+                FunctionDescriptor.of(JAVA_LONG)).invokeExact();
+            MESHGL_SIZE = (long) handle("manifold_meshgl_size",
+                FunctionDescriptor.of(JAVA_LONG)).invokeExact();
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ManifoldC() { }
+
+    private static MethodHandle handle(String name, FunctionDescriptor descriptor, Linker.Option... options) {
+        MemorySegment symbol = LOOKUP.find(name)
+            .orElseThrow(() -> new UnsatisfiedLinkError("manifoldc is missing " + name));
+        return LINKER.downcallHandle(symbol, descriptor, options);
+    }
+
+    /** Rethrows unchecked exceptions from invokeExact as they are. */
+    static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Native objects are constructed in place by the C API, so every one gets
+     * arena memory of the C API's size plus a destructor. Arenas release their
+     * resources in reverse order, so the destructor runs before the memory is
+     * freed. The C calls return the same address as a zero-length segment of
+     * global scope, so wrappers keep this segment as their handle instead;
+     * that way any use after the arena closes throws IllegalStateException
+     * rather than touching freed memory.
+     */
+    static MemorySegment allocate(Arena arena, long size, MethodHandle destruct) {
+        return arena.allocate(size, 16).reinterpret(arena, segment -> {
+            try {
+                destruct.invokeExact(segment);
+            } catch (Throwable e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+}
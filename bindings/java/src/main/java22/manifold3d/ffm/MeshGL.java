@@ -0,0 +1,120 @@
+package manifold3d.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+/**
+ * A native MeshGL held in an Arena. Vertex and index data moves between the
+ * native mesh and caller-owned MemorySegments, e.g. mapped files or GPU
+ * staging buffers, in one native copy without passing through the Java heap.
+ */
+public final class MeshGL {
+    private final MemorySegment handle;
+
+    private MeshGL(MemorySegment handle) {
+        this.handle = handle;
+    }
+
+    /** The native ManifoldMeshGL, for passing to other manifoldc calls. */
+    public MemorySegment segment() { return handle; }
+
+    private static MemorySegment allocate(Arena arena) {
+        return ManifoldC.allocate(arena, ManifoldC.MESHGL_SIZE, ManifoldC.DESTRUCT_MESHGL);
+    }
+
+    /**
+     * Builds a mesh from numVert * numProp floats of vertProperties and
+     * 3 * numTri uint32 triVerts.
+     */
+    public static MeshGL of(Arena arena, MemorySegment vertProperties, long numVert, long numProp,
+                            MemorySegment triVerts, long numTri) {
+        if (vertProperties.byteSize() < numVert * numProp * JAVA_FLOAT.byteSize()
+                || triVerts.byteSize() < 3 * numTri * JAVA_INT.byteSize()) {
+            throw new IllegalArgumentException("Segments are smaller than the given counts.");
+        }
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.MESHGL.invokeExact(
+                result, vertProperties, numVert, numProp, triVerts, numTri);
+            return new MeshGL(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    static MeshGL of(Arena arena, Manifold manifold) {
+        try {
+            MemorySegment result = allocate(arena);
+            MemorySegment unused = (MemorySegment) ManifoldC.GET_MESHGL.invokeExact(
+                result, manifold.segment());
+            return new MeshGL(result);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public int numProp() {
+        try {
+            return (int) ManifoldC.MESHGL_NUM_PROP.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public int numVert() {
+        try {
+            return (int) ManifoldC.MESHGL_NUM_VERT.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public int numTri() {
+        try {
+            return (int) ManifoldC.MESHGL_NUM_TRI.invokeExact(handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    /** Copies numVert * numProp floats into out, which must be native. */
+    public void copyVertProperties(MemorySegment out) {
+        long size = (long) numVert() * numProp() * JAVA_FLOAT.byteSize();
+        if (out.byteSize() < size) {
+            throw new IllegalArgumentException("Segment is too small for vertProperties.");
+        }
+        try {
+            MemorySegment unused = (MemorySegment) ManifoldC.MESHGL_VERT_PROPERTIES.invokeExact(out, handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    /** Copies 3 * numTri uint32 indices into out, which must be native. */
+    public void copyTriVerts(MemorySegment out) {
+        long size = 3L * numTri() * JAVA_INT.byteSize();
+        if (out.byteSize() < size) {
+            throw new IllegalArgumentException("Segment is too small for triVerts.");
+        }
+        try {
+            MemorySegment unused = (MemorySegment) ManifoldC.MESHGL_TRI_VERTS.invokeExact(out, handle);
+        } catch (Throwable e) {
+            throw ManifoldC.rethrow(e);
+        }
+    }
+
+    public MemorySegment vertProperties(Arena arena) {
+        MemorySegment out = arena.allocate(JAVA_FLOAT, (long) numVert() * numProp());
+        copyVertProperties(out);
+        return out;
+    }
+
+    public MemorySegment triVerts(Arena arena) {
+        MemorySegment out = arena.allocate(JAVA_INT, 3L * numTri());
+        copyTriVerts(out);
+        return out;
+    }
+}
@@ -1,6 +1,12 @@
 package manifold3d;
 
+import org.junit.Assert;
 import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
 import manifold3d.Manifold;
 import manifold3d.glm.DoubleVec2;
 import manifold3d.pub.DoubleMesh;
@@ -8,8 +14,12 @@ import manifold3d.pub.SimplePolygon;
 import manifold3d.pub.Polygons;
 import manifold3d.manifold.MeshIO;
 import manifold3d.manifold.ExportOptions;
+import manifold3d.manifold.ClippedPaths;
 import manifold3d.manifold.CrossSection;
+import manifold3d.manifold.CrossSectionVector;
 import manifold3d.manifold.CrossSection.FillRule;
+import manifold3d.manifold.Font;
+import manifold3d.manifold.Rect;
 import manifold3d.manifold.MeshIO;
 import manifold3d.manifold.ExportOptions;
 import manifold3d.Manifold;
@@ -51,4 +61,77 @@ public class CrossSectionTest {
         MeshIO.ExportMesh("CrossSectionTest.stl", mesh, opts);
         MeshIO.ExportMesh("TextExtrusion.stl", Manifold.Extrude(text, 200, 1, 0, new DoubleVec2(1.0, 1.0)).getMesh(), opts);
     }
+
+    @Test
+    public void testFont() {
+        Font font = Font.Load("DejaVuSans.ttf");
+        Assert.assertEquals(0, font.numCachedGlyphs());
+
+        Polygons a = font.glyph('a', 48, 6);
+        Assert.assertTrue(a.size() > 0);
+        Assert.assertEquals(1, font.numCachedGlyphs());
+        font.glyph('a', 48, 6);
+        Assert.assertEquals(1, font.numCachedGlyphs());
+        // Sizes that agree in their low 16 bits are still distinct entries.
+        font.glyph('a', 48 + 0x10000, 6);
+        font.glyph('a', 48, 6 + 0x10000);
+        Assert.assertEquals(3, font.numCachedGlyphs());
+
+        CrossSection one = CrossSection.Text(font, "a", 48, 6, FillRule.Positive.ordinal());
+        CrossSection two = CrossSection.Text(font, "aa", 48, 6, FillRule.Positive.ordinal());
+        Assert.assertEquals(3, font.numCachedGlyphs());
+        Assert.assertEquals(2 * one.area(), two.area(), 1e-6 * two.area());
+        Rect oneBounds = one.bounds();
+        Rect twoBounds = two.bounds();
+        Assert.assertTrue(twoBounds.Size().x() > 1.5 * oneBounds.Size().x());
+        Assert.assertEquals(oneBounds.Size().y(), twoBounds.Size().y(), 1e-6);
+
+        CrossSection lines = CrossSection.Text(font, "a\na", 48, 6, FillRule.Positive.ordinal());
+        Rect linesBounds = lines.bounds();
+        Assert.assertEquals(2 * one.area(), lines.area(), 1e-6 * lines.area());
+        Assert.assertEquals(oneBounds.Size().x(), linesBounds.Size().x(), 1e-6);
+        Assert.assertTrue(linesBounds.Size().y() > 1.5 * oneBounds.Size().y());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMissingFont() {
+        Font.Load("missing-font.ttf");
+    }
+
+    @Test
+    public void testClipPaths() {
+        CrossSection square = CrossSection.Square(new DoubleVec2(2, 2), true);
+        // A segment crossing the square, then one entirely outside it.
+        DoubleBuffer lines = DoubleBuffer.wrap(new double[] {-3, 0, 3, 0, 5, 5, 6, 6});
+        ClippedPaths clipped = square.clipPaths(lines, IntBuffer.wrap(new int[] {0, 2, 4}));
+        Assert.assertEquals(1, clipped.numPaths());
+        DoubleBuffer points = clipped.points();
+        Assert.assertEquals(4, points.remaining());
+        Assert.assertEquals(2, Math.abs(points.get(2) - points.get(0)), 1e-6);
+
+        CrossSectionVector layers = new CrossSectionVector(new CrossSection[] {square, square.translate(new DoubleVec2(5, 5))});
+        ClippedPaths layered = CrossSection.ClipPaths(layers, lines, IntBuffer.wrap(new int[] {0, 2, 4}),
+                                                      IntBuffer.wrap(new int[] {0, 1, 2}));
+        Assert.assertEquals(2, layered.numPaths());
+        Assert.assertEquals(1, layered.layerOffsets().get(1));
+
+        int[][] badOffsets = {{}, {-1, 2}, {0, 5}, {0, 3, 2}};
+        for (int[] offsets : badOffsets) {
+            try {
+                square.clipPaths(lines, IntBuffer.wrap(offsets));
+                Assert.fail("Accepted offsets " + Arrays.toString(offsets));
+            } catch (RuntimeException e) {
+                // Expected: the offsets are validated before clipping.
+            }
+        }
+        int[][] badLayerOffsets = {{0, 1}, {0, 1, 3}, {-1, 1, 2}, {0, 2, 1}};
+        for (int[] layerOffsets : badLayerOffsets) {
+            try {
+                CrossSection.ClipPaths(layers, lines, IntBuffer.wrap(new int[] {0, 2, 4}), IntBuffer.wrap(layerOffsets));
+                Assert.fail("Accepted layerOffsets " + Arrays.toString(layerOffsets));
+            } catch (RuntimeException e) {
+                // Expected: the offsets are validated before clipping.
+            }
+        }
+    }
 }
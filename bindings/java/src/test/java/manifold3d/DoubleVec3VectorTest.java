@@ -28,4 +28,18 @@ public class DoubleVec3VectorTest {
         Assert.assertEquals(vec.get(1).get(1), 5.0, 0.0001);
     }
 
+    @Test
+    public void testStreams() {
+        double[] data = new double[3 * 1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        DoubleVec3Vector vec = DoubleVec3Vector.FromArray(data);
+
+        double expected = (data.length - 1) * data.length / 2.0;
+        Assert.assertEquals(expected, vec.doubleStream().sum(), 0.0001);
+        Assert.assertEquals(expected, vec.parallelDoubleStream().sum(), 0.0001);
+        Assert.assertEquals(1000, vec.parallelStream().count());
+        Assert.assertEquals(3.0 * 999, vec.stream().mapToDouble(v -> v.get(0)).max().getAsDouble(), 0.0001);
+    }
 }
@@ -2,6 +2,17 @@ package manifold3d;
 
 import org.junit.Test;
 import org.junit.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import manifold3d.Manifold;
 import manifold3d.glm.DoubleMat4x3;
 import manifold3d.glm.DoubleMat4x3Vector;
@@ -9,11 +20,14 @@ import manifold3d.pub.DoubleMesh;
 import manifold3d.glm.DoubleVec3;
 import manifold3d.glm.DoubleVec2;
 import manifold3d.glm.DoubleVec3Vector;
+import manifold3d.glm.IntegerVec3;
+import manifold3d.pub.Box;
 import manifold3d.MeshUtils;
 import manifold3d.manifold.MeshIO;
 import manifold3d.manifold.CrossSectionVector;
 import manifold3d.manifold.CrossSection;
 import manifold3d.manifold.ExportOptions;
+import manifold3d.manifold.MeshGL;
 
 public class ManifoldTest {
 
@@ -62,4 +76,248 @@ public class ManifoldTest {
 
         DoubleVec3Vector vertPos = hullMesh.vertPos();
     }
+
+    @Test
+    public void testLoftBuilder() {
+        CrossSection[] sections = {
+            CrossSection.Square(new DoubleVec2(20, 20), true),
+            CrossSection.Circle(12, 24),
+            CrossSection.Square(new DoubleVec2(10, 16), true),
+        };
+        DoubleMat4x3[] frames = new DoubleMat4x3[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            frames[i] = new DoubleMat4x3(1).translate(new DoubleVec3(0, 0, 10 * i));
+        }
+        Manifold loft = MeshUtils.Loft(new CrossSectionVector(sections), new DoubleMat4x3Vector(frames),
+                                       MeshUtils.LoftAlgorithm.EagerNearestNeighbor);
+
+        LoftBuilder builder = new LoftBuilder();
+        for (int i = 0; i < sections.length; i++) {
+            builder.add(sections[i], frames[i]);
+        }
+        Assert.assertEquals(sections.length, builder.numSections());
+        Manifold built = builder.build();
+        Assert.assertEquals(0, builder.numSections());
+
+        Assert.assertEquals(loft.numTri(), built.numTri());
+        Assert.assertEquals(loft.genus(), built.genus());
+        Assert.assertEquals(0, built.genus());
+        Assert.assertEquals(loft.getProperties().volume(), built.getProperties().volume(),
+                            1e-4 * loft.getProperties().volume());
+
+        // The builder is reusable after build().
+        builder.add(sections[0], frames[0]);
+        builder.add(sections[1], frames[1]);
+        Manifold first = builder.build();
+        Manifold firstLoft = MeshUtils.Loft(new CrossSectionVector(sections[0], sections[1]),
+                                            new DoubleMat4x3Vector(frames[0], frames[1]),
+                                            MeshUtils.LoftAlgorithm.EagerNearestNeighbor);
+        Assert.assertEquals(firstLoft.numTri(), first.numTri());
+    }
+
+    @Test
+    public void testPolyhedronSplitsQuadsAlongShorterDiagonal() {
+        // A parallelogram prism whose top quad is non-planar: corner 3 is
+        // raised, so the two possible splits enclose different volumes.
+        double[][] base = {{0, 0}, {4, 0}, {5, 2}, {1, 2}};
+        double[] heights = {1, 1, 1, 2};
+        DoubleBuffer vertices = DoubleBuffer.allocate(24);
+        for (int i = 0; i < 4; i++) {
+            vertices.put(base[i][0]).put(base[i][1]).put(0);
+        }
+        for (int i = 0; i < 4; i++) {
+            vertices.put(base[i][0]).put(base[i][1]).put(heights[i]);
+        }
+        vertices.flip();
+        IntBuffer faces = IntBuffer.wrap(new int[] {
+            0, 3, 2, 1,
+            4, 5, 6, 7,
+            0, 1, 5, 4,
+            1, 2, 6, 5,
+            2, 3, 7, 6,
+            3, 0, 4, 7});
+        IntBuffer faceLengths = IntBuffer.wrap(new int[] {4, 4, 4, 4, 4, 4});
+        Manifold prism = MeshUtils.PolyhedronFromBuffers(vertices, 8, faces, faceLengths, 6);
+
+        Assert.assertEquals(12, prism.numTri());
+        Assert.assertEquals(0, prism.genus());
+        // Splitting the top along 5-7, the shorter diagonal, gives 32 / 3;
+        // the longer diagonal 4-6 would give 28 / 3.
+        Assert.assertEquals(32.0 / 3, prism.getProperties().volume(), 1e-4);
+    }
+
+    @Test
+    public void testPolyhedronMixedFaces() {
+        // An L-shaped prism: concave hexagonal caps, five quad sides and one
+        // side given as two triangles.
+        double[][] base = {{0, 0}, {2, 0}, {2, 1}, {1, 1}, {1, 2}, {0, 2}};
+        DoubleBuffer vertices = DoubleBuffer.allocate(36);
+        for (int z = 0; z < 2; z++) {
+            for (double[] p : base) {
+                vertices.put(p[0]).put(p[1]).put(z);
+            }
+        }
+        vertices.flip();
+        IntBuffer faces = IntBuffer.wrap(new int[] {
+            0, 5, 4, 3, 2, 1,
+            6, 7, 8, 9, 10, 11,
+            0, 1, 7,
+            0, 7, 6,
+            1, 2, 8, 7,
+            2, 3, 9, 8,
+            3, 4, 10, 9,
+            4, 5, 11, 10,
+            5, 0, 6, 11});
+        IntBuffer faceLengths = IntBuffer.wrap(new int[] {6, 6, 3, 3, 4, 4, 4, 4, 4});
+        Manifold prism = MeshUtils.PolyhedronFromBuffers(vertices, 12, faces, faceLengths, 9);
+
+        Assert.assertEquals(20, prism.numTri());
+        Assert.assertEquals(12, prism.numVert());
+        Assert.assertEquals(0, prism.genus());
+        Assert.assertEquals(3, prism.getProperties().volume(), 1e-5);
+        Assert.assertEquals(14, prism.getProperties().surfaceArea(), 1e-5);
+    }
+
+    @Test
+    public void testEvaluateAll() {
+        List<Manifold> jobs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Manifold cube = Manifold.Cube(new DoubleVec3(10, 10, 10), true);
+            jobs.add(cube.subtract(Manifold.Sphere(6.0f, 16 + 4 * i)));
+        }
+        List<Manifold> results = Manifold.evaluateAll(jobs);
+        Assert.assertEquals(jobs.size(), results.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            Assert.assertEquals(jobs.get(i).numTri(), results.get(i).numTri());
+        }
+    }
+
+    @Test
+    public void testOffsetShell() {
+        Manifold cube = Manifold.Cube(new DoubleVec3(2, 2, 2), true);
+        FloatVector sdf = cube.sampleSDF(new Box(new DoubleVec3(-2, -2, -2), new DoubleVec3(2, 2, 2)),
+                                         new IntegerVec3(4, 4, 4));
+        Assert.assertEquals(125, sdf.size());
+        Assert.assertEquals(1.0, sdf.get(62), 1e-5);
+
+        Manifold grown = cube.offset(0.5f, 0.1f);
+        Assert.assertEquals(0, grown.genus());
+        Assert.assertTrue(grown.getProperties().volume() > cube.getProperties().volume());
+
+        Manifold shell = cube.shell(0.25f, 0.1f);
+        Assert.assertEquals(-1, shell.genus());
+        Assert.assertEquals(8 - 3.375, shell.getProperties().volume(), 0.1);
+    }
+
+    @Test
+    public void testTriangulate() {
+        // A square, then a square with a square hole.
+        DoubleBuffer points = DoubleBuffer.wrap(new double[] {
+            0, 0, 1, 0, 1, 1, 0, 1,
+            0, 0, 4, 0, 4, 4, 0, 4,
+            1, 1, 1, 3, 3, 3, 3, 1});
+        IntBuffer contourOffsets = IntBuffer.wrap(new int[] {0, 4, 8, 12});
+        IntBuffer setOffsets = IntBuffer.wrap(new int[] {0, 1, 3});
+        Triangulation result = MeshUtils.Triangulate(points, contourOffsets, setOffsets);
+
+        Assert.assertEquals(2, result.numSets());
+        Assert.assertEquals(10, result.numTriangles());
+        IntBuffer offsets = result.setOffsets();
+        Assert.assertEquals(0, offsets.get(0));
+        Assert.assertEquals(2, offsets.get(1));
+        Assert.assertEquals(10, offsets.get(2));
+        IntBuffer triangles = result.triangles();
+        for (int i = 0; i < triangles.remaining(); i++) {
+            int index = triangles.get(i);
+            Assert.assertTrue(i < 6 ? index < 4 : index >= 4 && index < 12);
+        }
+    }
+
+    @Test
+    public void testTriangulateRejectsBadOffsets() {
+        DoubleBuffer points = DoubleBuffer.wrap(new double[] {0, 0, 1, 0, 1, 1, 0, 1});
+        int[][][] bad = {
+            {{0, 4}, {}},
+            {{0, 4}, {-1, 0}},
+            {{0, 4}, {0, 2}},
+            {{-4, 4}, {0, 1}},
+            {{0, 5}, {0, 1}},
+            {{0, 100, 4}, {0, 2}},
+            {{0, 4, 0}, {0, 1, 2}},
+            {{0, 4}, {1, 0}},
+        };
+        for (int[][] offsets : bad) {
+            try {
+                MeshUtils.Triangulate(points, IntBuffer.wrap(offsets[0]), IntBuffer.wrap(offsets[1]));
+                Assert.fail("Accepted contourOffsets " + Arrays.toString(offsets[0])
+                            + " with setOffsets " + Arrays.toString(offsets[1]));
+            } catch (RuntimeException e) {
+                // Expected: the offsets are validated before triangulating.
+            }
+        }
+    }
+
+    @Test
+    public void testRayCast() {
+        // The second ray runs along an edge of the non-centered cube.
+        Manifold cube = Manifold.Cube(new DoubleVec3(2, 2, 2), false);
+        DoubleBuffer origins = DoubleBuffer.wrap(new double[] {1, 1, -1, 0.5, 0, -1, 3, 1, -1});
+        DoubleBuffer directions = DoubleBuffer.wrap(new double[] {0, 0, 2, 0, 0, 1, 0, 0, 1});
+        RayHits hits = cube.rayCast(origins, directions);
+
+        Assert.assertEquals(3, hits.size());
+        Assert.assertEquals(0.5, hits.distances.get(0), 1e-5);
+        Assert.assertEquals(1, hits.distances.get(1), 1e-5);
+        Assert.assertTrue(hits.triangles.get(0) >= 0);
+        Assert.assertTrue(hits.triangles.get(1) >= 0);
+        Assert.assertEquals(-1, hits.triangles.get(2));
+        for (int i = 0; i < 2; i++) {
+            double sum = 0;
+            for (int j = 0; j < 3; j++) {
+                sum += hits.barycentrics.get(3 * i + j);
+            }
+            Assert.assertEquals(1, sum, 1e-5);
+        }
+    }
+
+    @Test
+    public void testClosestPoints() {
+        Manifold cube = Manifold.Cube(new DoubleVec3(2, 2, 2), true);
+        DoubleBuffer points = DoubleBuffer.wrap(new double[] {0, 0, 0.5, 0, 0, 3, 2, 2, 2});
+        SurfacePoints closest = cube.closestPoints(points);
+
+        Assert.assertEquals(3, closest.size());
+        Assert.assertEquals(-0.5, closest.signedDistances.get(0), 1e-5);
+        Assert.assertEquals(1, closest.positions.get(2), 1e-5);
+        Assert.assertEquals(2, closest.signedDistances.get(1), 1e-5);
+        Assert.assertEquals(Math.sqrt(3), closest.signedDistances.get(2), 1e-5);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(1, closest.positions.get(6 + i), 1e-5);
+            Assert.assertTrue(closest.triangles.get(i) >= 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRayCastRejectsPartialTriple() {
+        Manifold cube = Manifold.Cube(new DoubleVec3(1, 1, 1), false);
+        cube.rayCast(DoubleBuffer.wrap(new double[] {0, 0, -1, 0}), DoubleBuffer.wrap(new double[] {0, 0, 1, 0}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testClosestPointsRejectsPartialTriple() {
+        Manifold.Cube(new DoubleVec3(1, 1, 1), false).closestPoints(DoubleBuffer.wrap(new double[] {0, 0}));
+    }
+
+    @Test
+    public void testExportGLBChannel() throws IOException {
+        MeshGL mesh = Manifold.Sphere(1, 32).getMeshGL(new IntegerVec3(0, 0, 0));
+        ExportOptions opts = new ExportOptions();
+        ByteBuffer whole = MeshIO.ExportGLB(mesh, opts);
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        MeshIO.ExportGLB(mesh, opts, Channels.newChannel(streamed));
+        byte[] expected = new byte[whole.remaining()];
+        whole.get(expected);
+        Assert.assertArrayEquals(expected, streamed.toByteArray());
+    }
 }
@@ -0,0 +1,118 @@
+package manifold3d;
+
+import org.junit.Test;
+import org.junit.Assert;
+import manifold3d.glm.DoubleVec3;
+import manifold3d.glm.IntegerVec3;
+import manifold3d.manifold.MeshGL;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+public class RenderMeshTest {
+
+    public RenderMeshTest() {
+    }
+
+    // Two cubes from separate originals, so there are two runs, with normals
+    // in property channels 0-2 and a second copy in 3-5 to read as RGB.
+    private static Manifold twoCubes() {
+        Manifold a = Manifold.Cube(new DoubleVec3(1, 1, 1), false).asOriginal();
+        Manifold b = Manifold.Cube(new DoubleVec3(1, 1, 1), false).translate(new DoubleVec3(2, 0, 0)).asOriginal();
+        return a.add(b).calculateNormals(0, 60).calculateNormals(3, 60);
+    }
+
+    private static void checkLayout(Manifold manifold, RenderLayout layout) {
+        RenderMesh render = manifold.toRenderBuffers(layout);
+        IntegerVec3 normals = layout.normalIdx < 0 ? new IntegerVec3(0, 0, 0)
+            : new IntegerVec3(3 + layout.normalIdx, 4 + layout.normalIdx, 5 + layout.normalIdx);
+        MeshGL mesh = manifold.getMeshGL(normals);
+        int numProp = mesh.numProp();
+
+        int stride = 3 + (layout.normalIdx < 0 ? 0 : 3) + (layout.colorIdx < 0 ? 0 : layout.colorWidth);
+        Assert.assertEquals(stride, render.stride());
+        Assert.assertEquals(mesh.NumVert(), render.numVert());
+        Assert.assertEquals(3 * mesh.NumTri(), render.numIndex());
+        Assert.assertEquals((long) render.numVert() * stride * Float.BYTES, render.vertexBytes());
+        Assert.assertEquals((long) render.numIndex() * (layout.shortIndices ? 2 : 4), render.indexBytes());
+
+        ByteBuffer vertices = ByteBuffer.allocateDirect((int) render.vertexBytes()).order(ByteOrder.nativeOrder());
+        ByteBuffer indices = ByteBuffer.allocateDirect((int) render.indexBytes()).order(ByteOrder.nativeOrder());
+        IntBuffer ranges = render.write(vertices, indices);
+
+        FloatBuffer floats = vertices.asFloatBuffer();
+        for (int vert = 0; vert < render.numVert(); vert++) {
+            int out = vert * stride;
+            int in = vert * numProp;
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(mesh.vertProperties().get(in + i), floats.get(out++), 0);
+            }
+            if (layout.normalIdx >= 0) {
+                for (int i = 0; i < 3; i++) {
+                    Assert.assertEquals(mesh.vertProperties().get(in + 3 + layout.normalIdx + i), floats.get(out++), 0);
+                }
+            }
+            if (layout.colorIdx >= 0) {
+                for (int i = 0; i < layout.colorWidth; i++) {
+                    Assert.assertEquals(mesh.vertProperties().get(in + 3 + layout.colorIdx + i), floats.get(out++), 0);
+                }
+            }
+        }
+
+        for (int i = 0; i < render.numIndex(); i++) {
+            long index = layout.shortIndices ? indices.getShort(2 * i) & 0xFFFF : indices.getInt(4 * i);
+            Assert.assertEquals(mesh.triVerts().get(i), index);
+        }
+
+        int range = 0;
+        for (int run = 0; run + 1 < mesh.runIndex().size(); run++) {
+            int first = (int) mesh.runIndex().get(run);
+            int count = (int) mesh.runIndex().get(run + 1) - first;
+            if (count == 0) continue;
+            Assert.assertEquals(first, ranges.get(3 * range));
+            Assert.assertEquals(count, ranges.get(3 * range + 1));
+            Assert.assertEquals(mesh.runOriginalID().get(run), ranges.get(3 * range + 2));
+            range++;
+        }
+        Assert.assertEquals(2, range);
+        Assert.assertEquals(3 * range, ranges.remaining());
+    }
+
+    @Test
+    public void testLayouts() {
+        Manifold cubes = twoCubes();
+        Assert.assertEquals(6, cubes.numProp());
+        for (boolean shortIndices : new boolean[] {false, true}) {
+            checkLayout(cubes, new RenderLayout().shortIndices(shortIndices));
+            checkLayout(cubes, new RenderLayout().normals(0).shortIndices(shortIndices));
+            checkLayout(cubes, new RenderLayout().colors(3, 3).shortIndices(shortIndices));
+            checkLayout(cubes, new RenderLayout().normals(0).colors(3, 3).shortIndices(shortIndices));
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNormalIdxOutOfRange() {
+        twoCubes().toRenderBuffers(new RenderLayout().normals(4));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testColorsOutOfRange() {
+        twoCubes().toRenderBuffers(new RenderLayout().colors(3, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUndersizedBuffer() {
+        RenderMesh render = twoCubes().toRenderBuffers(new RenderLayout().normals(0));
+        ByteBuffer vertices = ByteBuffer.allocateDirect((int) render.vertexBytes() - Float.BYTES);
+        ByteBuffer indices = ByteBuffer.allocateDirect((int) render.indexBytes());
+        render.write(vertices, indices);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeapBuffer() {
+        RenderMesh render = twoCubes().toRenderBuffers(new RenderLayout());
+        render.write(ByteBuffer.allocate((int) render.vertexBytes()), ByteBuffer.allocateDirect((int) render.indexBytes()));
+    }
+}
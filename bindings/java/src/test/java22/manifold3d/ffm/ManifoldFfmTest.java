@@ -0,0 +1,48 @@
+package manifold3d.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ManifoldFfmTest {
+
+    public ManifoldFfmTest() {}
+
+    @Test
+    public void testMeshGLRoundTrip() {
+        MemorySegment handle;
+        try (Arena arena = Arena.ofConfined()) {
+            Manifold cube = Manifold.cube(arena, 2, 2, 2, true);
+            Manifold hole = Manifold.cylinder(arena, 3, 0.5f, 0.5f, 32, true);
+            Manifold diff = cube.subtract(arena, hole);
+            Manifold sum = diff.add(arena, Manifold.cube(arena, 1, 1, 1, false).translate(arena, 0.5f, 0.5f, 0.5f));
+
+            Assert.assertFalse(sum.isEmpty());
+            Assert.assertEquals(0, sum.status());
+            Assert.assertTrue(sum.numTri() > 12);
+
+            MeshGL mesh = sum.getMeshGL(arena);
+            Assert.assertEquals(sum.numTri(), mesh.numTri());
+            Assert.assertEquals(3, mesh.numProp());
+
+            MeshGL copy = MeshGL.of(arena, mesh.vertProperties(arena), mesh.numVert(), mesh.numProp(),
+                                    mesh.triVerts(arena), mesh.numTri());
+            Manifold roundTrip = Manifold.of(arena, copy);
+            Assert.assertEquals(0, roundTrip.status());
+            Assert.assertEquals(sum.numTri(), roundTrip.numTri());
+            Assert.assertEquals(sum.numVert(), roundTrip.numVert());
+            Assert.assertEquals(sum.properties()[1], roundTrip.properties()[1], 1e-4);
+
+            Assert.assertThrows(IllegalArgumentException.class,
+                () -> MeshGL.of(arena, mesh.vertProperties(arena), mesh.numVert() + 1, mesh.numProp(),
+                                mesh.triVerts(arena), mesh.numTri()));
+            handle = roundTrip.segment();
+        }
+        Assert.assertFalse(handle.scope().isAlive());
+        Assert.assertThrows(IllegalStateException.class, () -> handle.get(JAVA_BYTE, 0));
+    }
+}
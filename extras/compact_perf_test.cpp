@@ -0,0 +1,54 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <chrono>
+#include <iostream>
+
+#include "manifold.h"
+#include "meshIO.h"
+
+using namespace manifold;
+
+template <typename F>
+double Time(F f) {
+  auto start = std::chrono::high_resolution_clock::now();
+  f();
+  auto end = std::chrono::high_resolution_clock::now();
+  std::chrono::duration<double> elapsed = end - start;
+  return elapsed.count();
+}
+
+int main(int argc, char **argv) {
+  CompactOptions options;
+  options.channels = {3, 4, 5};
+  // Both directions should be linear, so time per MB stays flat as the mesh
+  // grows; MB counts the raw float properties and uint32 indices.
+  for (int segments : {64, 256, 1024, 2048}) {
+    const Manifold sphere = Manifold::Sphere(1, segments).CalculateNormals(0);
+    const MeshGL mesh = sphere.GetMeshGL({3, 4, 5});
+    const double rawMB = (sizeof(float) * mesh.vertProperties.size() +
+                          sizeof(uint32_t) * mesh.triVerts.size()) /
+                         1e6;
+
+    std::vector<uint8_t> encoded;
+    const double tEncode =
+        Time([&]() { encoded = EncodeCompactMesh(mesh, options); });
+    const double tDecode = Time(
+        [&]() { DecodeCompactMesh(encoded.data(), encoded.size()); });
+    std::cout << "nTri = " << mesh.NumTri() << ", raw " << rawMB
+              << " MB, compact " << encoded.size() / 1e6 << " MB, encode "
+              << 1e3 * tEncode / rawMB << " ms/MB, decode "
+              << 1e3 * tDecode / rawMB << " ms/MB" << std::endl;
+  }
+}
@@ -0,0 +1,55 @@
+// Copyright 2020 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <chrono>
+#include <iostream>
+
+#include "mesh_utils.hpp"
+
+using namespace manifold;
+
+// Sweeps increasingly dense circular sections along a helix with the
+// EagerNearestNeighbor loft, to show how stitching time scales with section
+// resolution.
+int main(int argc, char **argv) {
+  const int nSections = 64;
+  for (int i = 0; i < 8; ++i) {
+    const int nPoints = 64 << i;
+    std::vector<Polygons> sections;
+    std::vector<glm::mat4x3> transforms;
+    for (int s = 0; s < nSections; ++s) {
+      // Alternate resolutions so consecutive sections do not match 1:1.
+      const int n = nPoints + (s % 2) * nPoints / 3;
+      SimplePolygon circle(n);
+      for (int j = 0; j < n; ++j) {
+        const float a = glm::two_pi<float>() * j / n;
+        circle[j] = glm::vec2(10 * glm::cos(a), 10 * glm::sin(a));
+      }
+      sections.push_back({circle});
+      glm::mat4x3 transform(1.0f);
+      transform[3] = glm::vec3(30 * glm::cos(0.1f * s), 30 * glm::sin(0.1f * s),
+                               2.0f * s);
+      transforms.push_back(transform);
+    }
+
+    auto start = std::chrono::high_resolution_clock::now();
+    Manifold loft = MeshUtils::Loft(sections, transforms,
+                                    MeshUtils::LoftAlgorithm::EagerNearestNeighbor);
+    loft.NumTri();
+    auto end = std::chrono::high_resolution_clock::now();
+    std::chrono::duration<double> elapsed = end - start;
+    std::cout << "nPoints = " << nPoints << ", nTri = " << loft.NumTri()
+              << ", time = " << elapsed.count() << " sec" << std::endl;
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <chrono>
+#include <iostream>
+
+#include "manifold.h"
+#include "sdf.h"
+
+using namespace manifold;
+
+template <typename F>
+double Time(F f) {
+  auto start = std::chrono::high_resolution_clock::now();
+  f();
+  auto end = std::chrono::high_resolution_clock::now();
+  std::chrono::duration<double> elapsed = end - start;
+  return elapsed.count();
+}
+
+int main(int argc, char **argv) {
+  const Manifold part = Manifold::Cube(glm::vec3(20), true) -
+                        Manifold::Cylinder(30, 5, 5, 64, true) +
+                        Manifold::Sphere(12, 128);
+  std::cout << "part nTri = " << part.NumTri() << std::endl;
+
+  // Halving the edge length should cost about 4x, following surface area.
+  for (float edgeLength : {2.0f, 1.0f, 0.5f, 0.25f}) {
+    Manifold grown, shell;
+    const double tOffset = Time([&]() {
+      grown = part.Offset(1, edgeLength);
+      grown.NumTri();
+    });
+    const double tShell = Time([&]() {
+      shell = part.Shell(1, edgeLength);
+      shell.NumTri();
+    });
+    std::cout << "edgeLength = " << edgeLength
+              << ", offset nTri = " << grown.NumTri() << ", " << tOffset
+              << " sec, shell nTri = " << shell.NumTri() << ", " << tShell
+              << " sec" << std::endl;
+  }
+
+  // Dense sampling follows the volume instead.
+  auto shellSDF = [](glm::vec3 p) {
+    return 0.5f - glm::abs(glm::length(p) - 10);
+  };
+  const Box bounds = {glm::vec3(-12), glm::vec3(12)};
+  for (float edgeLength : {0.4f, 0.2f, 0.1f}) {
+    const double tDense =
+        Time([&]() { LevelSet(shellSDF, bounds, edgeLength); });
+    const double tSparse =
+        Time([&]() { LevelSet(shellSDF, bounds, edgeLength, 0, true, 1); });
+    std::cout << "edgeLength = " << edgeLength << ", dense " << tDense
+              << " sec, sparse " << tSparse << " sec" << std::endl;
+  }
+}
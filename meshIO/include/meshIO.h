@@ -13,6 +13,8 @@
 // limitations under the License.
 
 #pragma once
+#include <memory>
+#include <ostream>
 #include <string>
 
 #include "manifold.h"
@@ -56,14 +58,82 @@ struct ExportOptions {
   bool faceted = true;
   /// PBR material properties.
   Material mat = {};
+  /// When true, a MeshGL is passed through OptimizeVertexCache before export.
+  bool optimizeVertexCache = false;
+};
+
+/**
+ * Options for EncodeCompactMesh.
+ */
+struct CompactOptions {
+  /// Property channels (>= 3) to keep, in the order they will be decoded.
+  std::vector<int> channels;
+  /// Bits per kept property value, either 8 or 16. Positions always use 16.
+  int propertyBits = 8;
+};
+
+/**
+ * Clusters of at most a few hundred triangles for mesh shading and cluster
+ * culling, from BuildMeshlets. Like MeshGL, the data is stored in flat vectors
+ * with a fixed stride per meshlet.
+ */
+struct Meshlets {
+  /// Stride 5: vertexOffset, vertexCount, triangleOffset, triangleCount, run.
+  /// Offsets index meshletVerts and meshletTris (in triangles); run indexes
+  /// MeshGL.runIndex, as meshlets never span runs.
+  std::vector<uint32_t> ranges;
+  /// Stride 8: bounding sphere center (xyz) and radius, then normal cone axis
+  /// (xyz) and cutoff. A meshlet is entirely backfacing, so can be culled, when
+  /// dot(center - eye, axis) >= cutoff * length(center - eye) + radius.
+  std::vector<float> bounds;
+  /// Indices into the MeshGL's verts, referenced by meshletTris.
+  std::vector<uint32_t> meshletVerts;
+  /// Three local indices into each meshlet's range of meshletVerts per
+  /// triangle.
+  std::vector<uint8_t> meshletTris;
+
+  size_t NumMeshlet() const { return ranges.size() / 5; }
 };
 
 Mesh ImportMesh(const std::string& filename, bool forceCleanup = false);
 
+MeshGL ImportMeshGL(const std::string& filename);
+
+std::vector<uint8_t> EncodeCompactMesh(const MeshGL& mesh,
+                                       const CompactOptions& options = {});
+MeshGL DecodeCompactMesh(const uint8_t* data, size_t size);
+
+void OptimizeVertexCache(MeshGL& mesh, int cacheSize = 32);
+Meshlets BuildMeshlets(const MeshGL& mesh, int maxVerts = 64,
+                       int maxTris = 124);
+
 void ExportMesh(const std::string& filename, const Mesh& mesh,
                 const ExportOptions& options);
 
 void ExportMesh(const std::string& filename, const MeshGL& mesh,
                 const ExportOptions& options);
+
+/**
+ * Serializes a MeshGL directly to GLB (binary glTF 2.0) without going through
+ * Assimp. Each triangle run becomes a primitive, tagged with its
+ * runOriginalID, and vertProperties is written as a single interleaved
+ * buffer, with any channels not used for normals or color exposed as
+ * _PROPERTY_i attributes. Unless optimizeVertexCache is set, the mesh is
+ * referenced, not copied, so it must outlive the writer.
+ */
+class GLBWriter {
+ public:
+  GLBWriter(const MeshGL& mesh, const ExportOptions& options = {});
+  ~GLBWriter();
+
+  size_t Size() const;
+  void Write(char* buffer) const;
+  void Write(char* buffer, size_t offset, size_t size) const;
+  void Write(std::ostream& stream) const;
+
+ private:
+  struct Impl;
+  std::unique_ptr<Impl> impl_;
+};
 /** @} */
 }  // namespace manifold
\ No newline at end of file
@@ -0,0 +1,464 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#ifdef _WIN32
+#define WIN32_LEAN_AND_MEAN
+#define NOMINMAX
+#include <windows.h>
+#else
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+#endif
+
+#include <algorithm>
+#include <atomic>
+#include <cctype>
+#include <cstring>
+#include <sstream>
+#include <stdexcept>
+
+#include "hashtable.h"
+#include "meshIO.h"
+#include "par.h"
+
+namespace {
+using namespace manifold;
+
+/**
+ * Read-only memory map of a whole file, so large meshes are parsed straight
+ * from the page cache instead of being read into a second copy.
+ */
+class MappedFile {
+ public:
+  explicit MappedFile(const std::string& filename) {
+#ifdef _WIN32
+    file_ = CreateFileA(filename.c_str(), GENERIC_READ, FILE_SHARE_READ,
+                        nullptr, OPEN_EXISTING, FILE_ATTRIBUTE_NORMAL, nullptr);
+    if (file_ == INVALID_HANDLE_VALUE)
+      throw std::runtime_error("Failed to open " + filename);
+    LARGE_INTEGER size;
+    if (GetFileSizeEx(file_, &size)) size_ = size.QuadPart;
+    if (size_ > 0) {
+      mapping_ =
+          CreateFileMappingA(file_, nullptr, PAGE_READONLY, 0, 0, nullptr);
+      if (mapping_ != nullptr)
+        data_ = static_cast<const char*>(
+            MapViewOfFile(mapping_, FILE_MAP_READ, 0, 0, 0));
+    }
+#else
+    const int fd = open(filename.c_str(), O_RDONLY);
+    if (fd < 0) throw std::runtime_error("Failed to open " + filename);
+    struct stat info;
+    if (fstat(fd, &info) == 0) size_ = info.st_size;
+    if (size_ > 0) {
+      void* data = mmap(nullptr, size_, PROT_READ, MAP_PRIVATE, fd, 0);
+      if (data != MAP_FAILED) data_ = static_cast<const char*>(data);
+    }
+    close(fd);
+#endif
+    if (data_ == nullptr) {
+      Release();
+      throw std::runtime_error("Failed to map " + filename);
+    }
+  }
+
+  ~MappedFile() { Release(); }
+
+  MappedFile(const MappedFile&) = delete;
+  MappedFile& operator=(const MappedFile&) = delete;
+
+  const char* Data() const { return data_; }
+  size_t Size() const { return size_; }
+
+ private:
+  void Release() {
+#ifdef _WIN32
+    if (data_ != nullptr) UnmapViewOfFile(data_);
+    if (mapping_ != nullptr) CloseHandle(mapping_);
+    if (file_ != INVALID_HANDLE_VALUE) CloseHandle(file_);
+#else
+    if (data_ != nullptr) munmap(const_cast<char*>(data_), size_);
+#endif
+  }
+
+  const char* data_ = nullptr;
+  size_t size_ = 0;
+#ifdef _WIN32
+  HANDLE file_ = INVALID_HANDLE_VALUE;
+  HANDLE mapping_ = nullptr;
+#endif
+};
+
+template <typename T>
+T Load(const char* ptr) {
+  T value;
+  std::memcpy(&value, ptr, sizeof(T));
+  return value;
+}
+
+Uint64 PositionKey(glm::vec3 pos) {
+  uint32_t bits[3];
+  std::memcpy(bits, &pos, sizeof(bits));
+  const Uint64 xy = (static_cast<Uint64>(bits[0]) << 32) | bits[1];
+  const Uint64 key = hash64bit(hash64bit(xy) ^ bits[2]);
+  return key == kOpen ? 0 : key;
+}
+
+/**
+ * Welds verts with identical positions. Returns, for each vert, the lowest
+ * index sharing its position, which is independent of thread scheduling.
+ * position must return positions with -0 already folded into +0.
+ */
+template <typename F>
+Vec<uint32_t> Weld(size_t numVert, F position) {
+  const auto policy = autoPolicy(numVert);
+  Vec<uint32_t> first(numVert);
+  size_t tableSize = std::max<size_t>(numVert / 2, 16);
+  while (1) {
+    HashTable<uint32_t> table(tableSize);
+    HashTableD<uint32_t> verts = table.D();
+    for_each_n(policy, countAt(0_z), numVert, [&](size_t vert) {
+      verts.Insert(PositionKey(position(vert)), vert);
+    });
+    if (table.Full()) {
+      tableSize *= 2;
+      continue;
+    }
+
+    for_each_n(policy, countAt(0_z), numVert, [&](size_t vert) {
+      uint32_t& lowest = verts[PositionKey(position(vert))];
+      uint32_t current = AtomicLoad(lowest);
+      while (vert < current) {
+        const uint32_t found =
+            AtomicCAS(lowest, current, static_cast<uint32_t>(vert));
+        if (found == current) break;
+        current = found;
+      }
+    });
+
+    for_each_n(policy, countAt(0_z), numVert, [&](size_t vert) {
+      const glm::vec3 pos = position(vert);
+      const uint32_t lowest = verts[PositionKey(pos)];
+      // A key collision must never weld distinct positions.
+      first[vert] = position(lowest) == pos ? lowest : vert;
+    });
+    return first;
+  }
+}
+
+MeshGL ReadSTL(const MappedFile& file) {
+  const char* data = file.Data();
+  if (file.Size() < 84) throw std::runtime_error("Truncated STL file.");
+  const size_t numTri = Load<uint32_t>(data + 80);
+  if (file.Size() != 84 + 50 * numTri)
+    throw std::runtime_error("Only binary STL files are supported.");
+  const size_t numCorner = 3 * numTri;
+  if (numCorner >= std::numeric_limits<int>::max())
+    throw std::out_of_range("mesh too large");
+
+  auto Position = [data](size_t corner) {
+    const char* p = data + 84 + 50 * (corner / 3) + 12 * (1 + corner % 3);
+    return glm::vec3(Load<float>(p), Load<float>(p + 4), Load<float>(p + 8)) +
+           0.0f;
+  };
+  const Vec<uint32_t> first = Weld(numCorner, Position);
+
+  // Each position becomes a vert at its first corner, numbered in file order.
+  const auto policy = autoPolicy(numCorner);
+  Vec<uint32_t> newVert(numCorner);
+  transform(policy, countAt(0_z), countAt(numCorner), newVert.begin(),
+            [&first](size_t corner) { return first[corner] == corner; });
+  const uint32_t numLast = numCorner == 0 ? 0 : newVert[numCorner - 1];
+  exclusive_scan(policy, newVert.begin(), newVert.end(), newVert.begin(), 0u);
+  const size_t numVert = numCorner == 0 ? 0 : newVert[numCorner - 1] + numLast;
+
+  MeshGL mesh;
+  mesh.vertProperties.resize(3 * numVert);
+  mesh.triVerts.resize(numCorner);
+  for_each_n(policy, countAt(0_z), numCorner, [&](size_t corner) {
+    if (first[corner] == corner) {
+      const glm::vec3 pos = Position(corner);
+      for (int i : {0, 1, 2})
+        mesh.vertProperties[3 * newVert[corner] + i] = pos[i];
+    }
+    mesh.triVerts[corner] = newVert[first[corner]];
+  });
+  return mesh;
+}
+
+struct PlyType {
+  int size = 0;
+  char kind = 0;  // 'i'nt, 'u'nsigned or 'f'loat
+};
+
+struct PlyProperty {
+  std::string name;
+  PlyType type;
+  PlyType countType;  // size is 0 unless this is a list
+};
+
+struct PlyElement {
+  std::string name;
+  size_t count = 0;
+  std::vector<PlyProperty> props;
+};
+
+PlyType ParsePlyType(const std::string& name) {
+  if (name == "char" || name == "int8") return {1, 'i'};
+  if (name == "uchar" || name == "uint8") return {1, 'u'};
+  if (name == "short" || name == "int16") return {2, 'i'};
+  if (name == "ushort" || name == "uint16") return {2, 'u'};
+  if (name == "int" || name == "int32") return {4, 'i'};
+  if (name == "uint" || name == "uint32") return {4, 'u'};
+  if (name == "float" || name == "float32") return {4, 'f'};
+  if (name == "double" || name == "float64") return {8, 'f'};
+  throw std::runtime_error("Unknown PLY type: " + name);
+}
+
+double ReadPly(const char* ptr, PlyType type) {
+  if (type.kind == 'f')
+    return type.size == 4 ? Load<float>(ptr) : Load<double>(ptr);
+  if (type.kind == 'i') {
+    if (type.size == 1) return Load<int8_t>(ptr);
+    if (type.size == 2) return Load<int16_t>(ptr);
+    return Load<int32_t>(ptr);
+  }
+  if (type.size == 1) return Load<uint8_t>(ptr);
+  if (type.size == 2) return Load<uint16_t>(ptr);
+  return Load<uint32_t>(ptr);
+}
+
+/**
+ * The byte size of one item of element starting at ptr, or 0 if it would run
+ * past end.
+ */
+size_t PlyItemSize(const char* ptr, const char* end,
+                   const PlyElement& element) {
+  size_t size = 0;
+  for (const PlyProperty& prop : element.props) {
+    if (prop.countType.size == 0) {
+      size += prop.type.size;
+      continue;
+    }
+    if (ptr + size + prop.countType.size > end) return 0;
+    const size_t count = ReadPly(ptr + size, prop.countType);
+    size += prop.countType.size + count * prop.type.size;
+  }
+  return ptr + size > end ? 0 : size;
+}
+
+MeshGL ReadPLY(const MappedFile& file) {
+  const char* data = file.Data();
+  const char* end = data + file.Size();
+  const char* headerEnd = nullptr;
+  for (const char* p = data; p + 10 <= end; ++p) {
+    if (std::memcmp(p, "end_header", 10) == 0) {
+      headerEnd = static_cast<const char*>(std::memchr(p, '\n', end - p));
+      break;
+    }
+  }
+  if (headerEnd == nullptr) throw std::runtime_error("Missing PLY header.");
+
+  std::istringstream header(std::string(data, headerEnd));
+  std::vector<PlyElement> elements;
+  std::string line;
+  bool littleEndian = false;
+  while (std::getline(header, line)) {
+    std::istringstream words(line);
+    std::string word;
+    words >> word;
+    if (word == "format") {
+      words >> word;
+      littleEndian = word == "binary_little_endian";
+    } else if (word == "element") {
+      elements.emplace_back();
+      words >> elements.back().name >> elements.back().count;
+    } else if (word == "property" && !elements.empty()) {
+      PlyProperty prop;
+      words >> word;
+      if (word == "list") {
+        words >> word;
+        prop.countType = ParsePlyType(word);
+        words >> word;
+      }
+      prop.type = ParsePlyType(word);
+      words >> prop.name;
+      elements.back().props.push_back(prop);
+    }
+  }
+  if (!littleEndian)
+    throw std::runtime_error(
+        "Only binary little-endian PLY files are supported.");
+
+  MeshGL mesh;
+  const char* cursor = headerEnd + 1;
+  size_t numVert = 0;
+  bool hasFaces = false;
+  for (const PlyElement& element : elements) {
+    if (element.name == "vertex") {
+      std::vector<int> channel(element.props.size(), -1);
+      std::vector<size_t> offset(element.props.size());
+      size_t stride = 0;
+      int numProp = 3;
+      for (size_t i = 0; i < element.props.size(); ++i) {
+        const PlyProperty& prop = element.props[i];
+        if (prop.countType.size != 0)
+          throw std::runtime_error("PLY vertex lists are not supported.");
+        offset[i] = stride;
+        stride += prop.type.size;
+        if (prop.name == "x") {
+          channel[i] = 0;
+        } else if (prop.name == "y") {
+          channel[i] = 1;
+        } else if (prop.name == "z") {
+          channel[i] = 2;
+        } else {
+          channel[i] = numProp++;
+        }
+      }
+      for (int c : {0, 1, 2}) {
+        if (std::count(channel.begin(), channel.end(), c) != 1)
+          throw std::runtime_error("PLY vertices must have x, y and z.");
+      }
+      numVert = element.count;
+      if (numVert >= std::numeric_limits<int>::max())
+        throw std::out_of_range("mesh too large");
+      if (cursor + stride * numVert > end)
+        throw std::runtime_error("Truncated PLY file.");
+
+      mesh.numProp = numProp;
+      mesh.vertProperties.resize(numProp * numVert);
+      for_each_n(autoPolicy(numVert), countAt(0_z), numVert, [&](size_t vert) {
+        const char* item = cursor + stride * vert;
+        for (size_t i = 0; i < channel.size(); ++i) {
+          mesh.vertProperties[numProp * vert + channel[i]] =
+              ReadPly(item + offset[i], element.props[i].type);
+        }
+      });
+      cursor += stride * numVert;
+    } else if (element.name == "face") {
+      int indexProp = -1;
+      for (size_t i = 0; i < element.props.size(); ++i) {
+        const PlyProperty& prop = element.props[i];
+        if (prop.countType.size != 0 && (prop.name == "vertex_indices" ||
+                                         prop.name == "vertex_index"))
+          indexProp = i;
+      }
+      if (indexProp < 0)
+        throw std::runtime_error("PLY faces must have vertex_indices.");
+
+      // Faces are variable length, so find where each starts serially; the
+      // triangulation itself is parallel.
+      const size_t numFace = element.count;
+      std::vector<const char*> faceIndices(numFace);
+      Vec<uint32_t> triStart(numFace + 1, 0);
+      for (size_t face = 0; face < numFace; ++face) {
+        for (int i = 0; i < element.props.size(); ++i) {
+          const PlyProperty& prop = element.props[i];
+          if (prop.countType.size == 0) {
+            cursor += prop.type.size;
+            continue;
+          }
+          if (cursor + prop.countType.size > end)
+            throw std::runtime_error("Truncated PLY file.");
+          const int count = ReadPly(cursor, prop.countType);
+          if (i == indexProp) {
+            faceIndices[face] = cursor;
+            triStart[face] = std::max(count - 2, 0);
+          }
+          cursor += prop.countType.size + count * prop.type.size;
+        }
+        if (cursor > end) throw std::runtime_error("Truncated PLY file.");
+      }
+      exclusive_scan(autoPolicy(numFace), triStart.begin(), triStart.end(),
+                     triStart.begin(), 0u);
+
+      mesh.triVerts.resize(3 * triStart[numFace]);
+      std::atomic<bool> invalid(false);
+      const PlyProperty& indices = element.props[indexProp];
+      for_each_n(autoPolicy(numFace), countAt(0_z), numFace, [&](size_t face) {
+        const char* ptr = faceIndices[face] + indices.countType.size;
+        auto Index = [&](int i) {
+          const double index =
+              ReadPly(ptr + i * indices.type.size, indices.type);
+          if (index < 0 || index >= numVert) invalid.store(true);
+          return static_cast<uint32_t>(index);
+        };
+        if (triStart[face] == triStart[face + 1]) return;
+        const uint32_t v0 = Index(0);
+        for (uint32_t tri = triStart[face]; tri < triStart[face + 1]; ++tri) {
+          const int i = tri - triStart[face] + 1;
+          mesh.triVerts[3 * tri] = v0;
+          mesh.triVerts[3 * tri + 1] = Index(i);
+          mesh.triVerts[3 * tri + 2] = Index(i + 1);
+        }
+      });
+      if (invalid.load())
+        throw std::runtime_error("PLY face index out of range.");
+      hasFaces = true;
+      break;
+    } else {
+      for (size_t i = 0; i < element.count; ++i) {
+        const size_t size = PlyItemSize(cursor, end, element);
+        if (size == 0 && !element.props.empty())
+          throw std::runtime_error("Truncated PLY file.");
+        cursor += size;
+      }
+    }
+  }
+  if (!hasFaces) throw std::runtime_error("PLY file has no faces.");
+
+  // Verts at the same position but with different properties are kept, and
+  // the merge vectors tell the Manifold constructor which ones to join.
+  const int numProp = mesh.numProp;
+  auto Position = [&mesh, numProp](size_t vert) {
+    const float* p = &mesh.vertProperties[numProp * vert];
+    return glm::vec3(p[0], p[1], p[2]) + 0.0f;
+  };
+  const Vec<uint32_t> first = Weld(numVert, Position);
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    if (first[vert] == vert) continue;
+    mesh.mergeFromVert.push_back(vert);
+    mesh.mergeToVert.push_back(first[vert]);
+  }
+  return mesh;
+}
+}  // namespace
+
+namespace manifold {
+
+/**
+ * Imports a binary STL or binary little-endian PLY file directly, without
+ * Assimp. The file is memory-mapped and parsed in parallel, and verts with
+ * identical positions are welded with a parallel hash table, so the result is
+ * ready to pass to the Manifold constructor without another merge.
+ *
+ * STL verts are deduplicated outright. PLY verts keep all of their properties
+ * as channels after x, y, z, so coincident verts are listed in
+ * mergeFromVert/mergeToVert rather than removed. PLY polygons are fan
+ * triangulated.
+ *
+ * @param filename A .stl or .ply file.
+ */
+MeshGL ImportMeshGL(const std::string& filename) {
+  std::string ext = filename.substr(filename.find_last_of(".") + 1);
+  std::transform(ext.begin(), ext.end(), ext.begin(), ::tolower);
+  if (ext != "stl" && ext != "ply")
+    throw std::invalid_argument("ImportMeshGL only reads .stl and .ply files.");
+  const MappedFile file(filename);
+  return ext == "stl" ? ReadSTL(file) : ReadPLY(file);
+}
+}  // namespace manifold
@@ -0,0 +1,330 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <algorithm>
+#include <cstring>
+#include <limits>
+#include <stdexcept>
+#include <type_traits>
+
+#include "meshIO.h"
+
+namespace {
+using namespace manifold;
+
+constexpr uint32_t kCompactMagic = 0x3151464D;  // "MFQ1"
+
+// The format is little-endian regardless of the host, so multi-byte values
+// are stored a byte at a time rather than copied from memory.
+void StoreLE(uint8_t* ptr, uint32_t x, size_t bytes) {
+  for (size_t i = 0; i < bytes; ++i)
+    ptr[i] = static_cast<uint8_t>(x >> (8 * i));
+}
+
+uint32_t LoadLE(const uint8_t* ptr, size_t bytes) {
+  uint32_t x = 0;
+  for (size_t i = 0; i < bytes; ++i)
+    x |= static_cast<uint32_t>(ptr[i]) << (8 * i);
+  return x;
+}
+
+template <typename T>
+uint32_t ToBits(T x) {
+  static_assert(std::is_unsigned<T>::value && sizeof(T) <= 4,
+                "Raw values are unsigned integers or float.");
+  return x;
+}
+
+template <>
+uint32_t ToBits(float x) {
+  uint32_t bits;
+  std::memcpy(&bits, &x, sizeof(bits));
+  return bits;
+}
+
+template <typename T>
+T FromBits(uint32_t bits) {
+  return static_cast<T>(bits);
+}
+
+template <>
+float FromBits(uint32_t bits) {
+  float x;
+  std::memcpy(&x, &bits, sizeof(x));
+  return x;
+}
+
+class Writer {
+ public:
+  explicit Writer(std::vector<uint8_t>& out) : out_(out) {}
+
+  void Varint(uint64_t x) {
+    while (x >= 0x80) {
+      out_.push_back(static_cast<uint8_t>(x) | 0x80);
+      x >>= 7;
+    }
+    out_.push_back(static_cast<uint8_t>(x));
+  }
+
+  void SignedVarint(int64_t x) {
+    Varint((static_cast<uint64_t>(x) << 1) ^ static_cast<uint64_t>(x >> 63));
+  }
+
+  template <typename T>
+  void Raw(T x) {
+    StoreLE(Extend(sizeof(T)), ToBits(x), sizeof(T));
+  }
+
+  /// Grows the output by size bytes and returns where they start.
+  uint8_t* Extend(size_t size) {
+    const size_t at = out_.size();
+    out_.resize(at + size);
+    return out_.data() + at;
+  }
+
+ private:
+  std::vector<uint8_t>& out_;
+};
+
+class Reader {
+ public:
+  Reader(const uint8_t* data, size_t size) : ptr_(data), end_(data + size) {}
+
+  uint64_t Varint() {
+    uint64_t x = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      Check(1);
+      const uint8_t byte = *ptr_++;
+      x |= static_cast<uint64_t>(byte & 0x7f) << shift;
+      if ((byte & 0x80) == 0) return x;
+    }
+    throw std::runtime_error("Malformed compact mesh.");
+  }
+
+  int64_t SignedVarint() {
+    const uint64_t x = Varint();
+    return static_cast<int64_t>(x >> 1) ^ -static_cast<int64_t>(x & 1);
+  }
+
+  template <typename T>
+  T Raw() {
+    Check(sizeof(T));
+    const T x = FromBits<T>(LoadLE(ptr_, sizeof(T)));
+    ptr_ += sizeof(T);
+    return x;
+  }
+
+ private:
+  void Check(size_t size) const {
+    if (ptr_ + size > end_) throw std::runtime_error("Truncated compact mesh.");
+  }
+
+  const uint8_t* ptr_;
+  const uint8_t* end_;
+};
+
+/// Quantizes value within [lo, lo + range] to an integer of the given bits.
+uint32_t Quantize(float value, float lo, float range, int bits) {
+  const uint32_t steps = (1u << bits) - 1;
+  if (range <= 0) return 0;
+  const float t = glm::clamp((value - lo) / range, 0.0f, 1.0f);
+  return static_cast<uint32_t>(t * steps + 0.5f);
+}
+
+float Dequantize(uint32_t q, float lo, float range, int bits) {
+  const uint32_t steps = (1u << bits) - 1;
+  return lo + range * q / steps;
+}
+}  // namespace
+
+namespace manifold {
+
+/**
+ * Encodes a MeshGL into a compact, lossy binary form meant for delivery over
+ * slow links, e.g. to a browser:
+ *
+ * - Verts are renumbered in order of first use, and each triangle index is
+ *   stored as a zigzag varint delta from the previous one, which is usually
+ *   one or two bytes.
+ * - Positions are quantized to 16 bits within the bounding box.
+ * - The selected property channels are each quantized within their own range.
+ * - runIndex and runOriginalID are kept as they are; unreferenced verts, merge
+ *   vectors, faceIDs and tangents are dropped.
+ *
+ * Use DecodeCompactMesh to read it back.
+ *
+ * @param mesh The mesh to encode, likely from Manifold.GetMeshGL().
+ * @param options Which property channels to keep, and at what precision.
+ */
+std::vector<uint8_t> EncodeCompactMesh(const MeshGL& mesh,
+                                       const CompactOptions& options) {
+  const int numProp = mesh.numProp;
+  const int propertyBits = options.propertyBits;
+  if (propertyBits != 8 && propertyBits != 16)
+    throw std::invalid_argument("propertyBits must be 8 or 16.");
+  for (int c : options.channels) {
+    if (c < 3 || c >= numProp)
+      throw std::invalid_argument("Invalid property channel.");
+  }
+
+  const size_t numVert = mesh.NumVert();
+  const size_t numCorner = mesh.triVerts.size();
+  std::vector<int> old2new(numVert, -1);
+  std::vector<uint32_t> new2old;
+  new2old.reserve(numVert);
+  for (const uint32_t vert : mesh.triVerts) {
+    if (old2new[vert] < 0) {
+      old2new[vert] = new2old.size();
+      new2old.push_back(vert);
+    }
+  }
+
+  std::vector<float> lo(numProp, std::numeric_limits<float>::infinity());
+  std::vector<float> hi(numProp, -std::numeric_limits<float>::infinity());
+  std::vector<int> channels = {0, 1, 2};
+  channels.insert(channels.end(), options.channels.begin(),
+                  options.channels.end());
+  for (const uint32_t vert : new2old) {
+    const float* props = &mesh.vertProperties[vert * numProp];
+    for (int c : channels) {
+      lo[c] = std::min(lo[c], props[c]);
+      hi[c] = std::max(hi[c], props[c]);
+    }
+  }
+  if (new2old.empty()) {
+    std::fill(lo.begin(), lo.end(), 0);
+    std::fill(hi.begin(), hi.end(), 0);
+  }
+
+  const size_t propertyBytes = propertyBits / 8;
+  const size_t vertBytes =
+      new2old.size() * (6 + options.channels.size() * propertyBytes);
+  std::vector<uint8_t> out;
+  out.reserve(64 + 8 * channels.size() + vertBytes + 2 * numCorner);
+  Writer writer(out);
+  writer.Raw(kCompactMagic);
+  writer.Varint(new2old.size());
+  writer.Varint(numCorner / 3);
+  writer.Varint(options.channels.size());
+  writer.Raw<uint8_t>(propertyBits);
+  for (int c : channels) {
+    writer.Raw(lo[c]);
+    writer.Raw(hi[c] - lo[c]);
+  }
+
+  // The fixed-size vertex data is written in place rather than appended.
+  uint8_t* ptr = writer.Extend(vertBytes);
+  for (const uint32_t vert : new2old) {
+    const float* props = &mesh.vertProperties[vert * numProp];
+    for (int c : {0, 1, 2}) {
+      StoreLE(ptr, Quantize(props[c], lo[c], hi[c] - lo[c], 16), 2);
+      ptr += 2;
+    }
+  }
+  for (int c : options.channels) {
+    const float range = hi[c] - lo[c];
+    for (const uint32_t vert : new2old) {
+      const float value = mesh.vertProperties[vert * numProp + c];
+      if (propertyBits == 8) {
+        *ptr++ = static_cast<uint8_t>(Quantize(value, lo[c], range, 8));
+      } else {
+        StoreLE(ptr, Quantize(value, lo[c], range, 16), 2);
+        ptr += 2;
+      }
+    }
+  }
+
+  int64_t last = 0;
+  for (const uint32_t vert : mesh.triVerts) {
+    const int64_t index = old2new[vert];
+    writer.SignedVarint(index - last);
+    last = index;
+  }
+
+  // runIndex and runOriginalID are independent, since either may be empty.
+  writer.Varint(mesh.runIndex.size());
+  for (const uint32_t index : mesh.runIndex) writer.Varint(index / 3);
+  writer.Varint(mesh.runOriginalID.size());
+  for (const uint32_t id : mesh.runOriginalID) writer.Varint(id);
+  return out;
+}
+
+/**
+ * Decodes the output of EncodeCompactMesh. Properties come back in the order
+ * their channels were listed, starting at channel 3.
+ *
+ * @param data The encoded bytes.
+ * @param size The number of encoded bytes.
+ */
+MeshGL DecodeCompactMesh(const uint8_t* data, size_t size) {
+  Reader reader(data, size);
+  if (reader.Raw<uint32_t>() != kCompactMagic)
+    throw std::runtime_error("Not a compact mesh.");
+  const size_t numVert = reader.Varint();
+  const size_t numTri = reader.Varint();
+  const size_t numChannel = reader.Varint();
+  const int propertyBits = reader.Raw<uint8_t>();
+  // Every vert takes at least 6 bytes and every triangle at least 3, which
+  // guards the allocations below against corrupt counts.
+  if ((propertyBits != 8 && propertyBits != 16) || numChannel > size ||
+      numVert > size / 6 || numTri > size / 3)
+    throw std::runtime_error("Malformed compact mesh.");
+  const int numProp = 3 + numChannel;
+  std::vector<float> lo(numProp);
+  std::vector<float> range(numProp);
+  for (int c = 0; c < numProp; ++c) {
+    lo[c] = reader.Raw<float>();
+    range[c] = reader.Raw<float>();
+  }
+
+  MeshGL mesh;
+  mesh.numProp = numProp;
+  mesh.vertProperties.resize(numProp * numVert);
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    for (int c : {0, 1, 2}) {
+      mesh.vertProperties[vert * numProp + c] =
+          Dequantize(reader.Raw<uint16_t>(), lo[c], range[c], 16);
+    }
+  }
+  for (int c = 3; c < numProp; ++c) {
+    for (size_t vert = 0; vert < numVert; ++vert) {
+      const uint32_t q = propertyBits == 8 ? reader.Raw<uint8_t>()
+                                           : reader.Raw<uint16_t>();
+      mesh.vertProperties[vert * numProp + c] =
+          Dequantize(q, lo[c], range[c], propertyBits);
+    }
+  }
+
+  mesh.triVerts.resize(3 * numTri);
+  int64_t last = 0;
+  for (uint32_t& vert : mesh.triVerts) {
+    last += reader.SignedVarint();
+    if (last < 0 || last >= static_cast<int64_t>(numVert))
+      throw std::runtime_error("Malformed compact mesh.");
+    vert = last;
+  }
+
+  const size_t numRunIndex = reader.Varint();
+  for (size_t run = 0; run < numRunIndex; ++run) {
+    const uint64_t tri = reader.Varint();
+    if (tri > numTri) throw std::runtime_error("Malformed compact mesh.");
+    mesh.runIndex.push_back(3 * tri);
+  }
+  const size_t numOriginalID = reader.Varint();
+  for (size_t run = 0; run < numOriginalID; ++run) {
+    mesh.runOriginalID.push_back(reader.Varint());
+  }
+  return mesh;
+}
+}  // namespace manifold
@@ -0,0 +1,326 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <algorithm>
+#include <cstring>
+#include <limits>
+#include <sstream>
+#include <stdexcept>
+
+#include "meshIO.h"
+
+namespace {
+using namespace manifold;
+
+constexpr uint32_t kMagic = 0x46546C67;  // "glTF"
+constexpr uint32_t kJSONChunk = 0x4E4F534A;
+constexpr uint32_t kBINChunk = 0x004E4942;
+constexpr int kUnsignedInt = 5125;
+constexpr int kFloat = 5126;
+constexpr int kArrayBuffer = 34962;
+constexpr int kElementArrayBuffer = 34963;
+// glTF limits byteStride to 252, which caps how many channels can be
+// referenced in place.
+constexpr int kMaxStride = 252;
+
+std::string Num(float x) {
+  std::ostringstream out;
+  out.precision(std::numeric_limits<float>::max_digits10);
+  out << x;
+  return out.str();
+}
+
+std::string Join(const std::vector<std::string>& items) {
+  std::string out;
+  for (size_t i = 0; i < items.size(); ++i) {
+    if (i > 0) out += ',';
+    out += items[i];
+  }
+  return out;
+}
+
+const char* AccessorType(int width) {
+  return width == 1 ? "SCALAR" : width == 3 ? "VEC3" : "VEC4";
+}
+}  // namespace
+
+namespace manifold {
+
+struct GLBWriter::Impl {
+  /// An attribute that can't reference vertProperties in place, so it is
+  /// copied into its own tightly packed bufferView. Channels < 0 are written
+  /// as 1.
+  struct Gather {
+    std::vector<int> channels;
+    bool saturate;
+  };
+
+  Impl(const MeshGL& input, bool optimize)
+      : optimized(optimize ? input : MeshGL()),
+        mesh(optimize ? optimized : input) {
+    if (optimize) OptimizeVertexCache(optimized);
+  }
+
+  /// Owned copy, only used when optimizeVertexCache is set.
+  MeshGL optimized;
+  const MeshGL& mesh;
+  bool interleave = false;
+  std::vector<Gather> gathers;
+  std::string json;
+  size_t binSize = 0;
+
+  void GatherVert(const Gather& gather, size_t vert, float* value) const {
+    const float* props = &mesh.vertProperties[vert * mesh.numProp];
+    for (size_t i = 0; i < gather.channels.size(); ++i) {
+      const int c = gather.channels[i];
+      value[i] = c < 0 ? 1 : props[c];
+      if (gather.saturate) value[i] = glm::clamp(value[i], 0.0f, 1.0f);
+    }
+  }
+};
+
+/**
+ * Lays out the glTF JSON for this mesh. The binary data is not touched until
+ * Write, which copies triVerts and vertProperties straight into the BIN chunk.
+ * Positions stay Z-up; the root node carries the rotation to glTF's Y-up.
+ *
+ * @param input The mesh to export, likely from Manifold.GetMeshGL().
+ * @param options As for ExportMesh: the material, and the normal and color
+ * channels.
+ */
+GLBWriter::GLBWriter(const MeshGL& input, const ExportOptions& options)
+    : impl_(std::make_unique<Impl>(input, options.optimizeVertexCache)) {
+  Impl& w = *impl_;
+  const MeshGL& mesh = w.mesh;
+  const int numProp = mesh.numProp;
+  const size_t numVert = mesh.NumVert();
+  if (mesh.NumTri() == 0)
+    throw std::invalid_argument("Cannot export an empty mesh.");
+
+  std::vector<bool> used(numProp, false);
+  for (int i : {0, 1, 2}) used[i] = true;
+  if (!options.faceted) {
+    for (int i : {0, 1, 2}) {
+      const int c = options.mat.normalChannels[i];
+      if (c < 3 || c >= numProp)
+        throw std::invalid_argument(
+            "When faceted is false, valid normalChannels must be supplied.");
+      used[c] = true;
+    }
+  }
+  bool hasColor = false;
+  for (int i : {0, 1, 2, 3}) {
+    const int c = options.mat.colorChannels[i];
+    if (c >= numProp) throw std::invalid_argument("Invalid colorChannels.");
+    if (c >= 0) {
+      hasColor = true;
+      used[c] = true;
+    }
+  }
+
+  std::vector<std::string> views;
+  std::vector<std::string> accessors;
+  std::vector<std::string> attributes;
+  auto AddView = [&](size_t length, int stride, int target) {
+    std::string view = "{\"buffer\":0,\"byteOffset\":" +
+                       std::to_string(w.binSize) +
+                       ",\"byteLength\":" + std::to_string(length);
+    if (stride > 0) view += ",\"byteStride\":" + std::to_string(stride);
+    view += ",\"target\":" + std::to_string(target) + "}";
+    views.push_back(view);
+    // Every element is 4 bytes, so views stay aligned without padding.
+    w.binSize += length;
+    return static_cast<int>(views.size()) - 1;
+  };
+  auto AddAccessor = [&](int view, size_t byteOffset, int componentType,
+                         size_t count, int width, const std::string& extra) {
+    accessors.push_back(
+        "{\"bufferView\":" + std::to_string(view) +
+        ",\"byteOffset\":" + std::to_string(byteOffset) +
+        ",\"componentType\":" + std::to_string(componentType) +
+        ",\"count\":" + std::to_string(count) + ",\"type\":\"" +
+        AccessorType(width) + "\"" + extra + "}");
+    return static_cast<int>(accessors.size()) - 1;
+  };
+
+  const int indexView =
+      AddView(sizeof(uint32_t) * mesh.triVerts.size(), 0, kElementArrayBuffer);
+  w.interleave = numProp * sizeof(float) <= kMaxStride;
+  const int vertView =
+      w.interleave ? AddView(sizeof(float) * mesh.vertProperties.size(),
+                             numProp * sizeof(float), kArrayBuffer)
+                   : -1;
+
+  auto AddAttribute = [&](const std::string& name,
+                          const std::vector<int>& channels, bool saturate,
+                          const std::string& extra = "") {
+    const int width = channels.size();
+    bool inPlace = w.interleave && !saturate;
+    for (int i = 0; i < width; ++i) inPlace &= channels[i] == channels[0] + i;
+    int accessor;
+    if (inPlace) {
+      accessor = AddAccessor(vertView, sizeof(float) * channels[0], kFloat,
+                             numVert, width, extra);
+    } else {
+      w.gathers.push_back({channels, saturate});
+      const int view =
+          AddView(sizeof(float) * width * numVert, 0, kArrayBuffer);
+      accessor = AddAccessor(view, 0, kFloat, numVert, width, extra);
+    }
+    attributes.push_back("\"" + name + "\":" + std::to_string(accessor));
+  };
+
+  glm::vec3 lo(std::numeric_limits<float>::infinity());
+  glm::vec3 hi(-std::numeric_limits<float>::infinity());
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    const float* pos = &mesh.vertProperties[vert * numProp];
+    const glm::vec3 p(pos[0], pos[1], pos[2]);
+    lo = glm::min(lo, p);
+    hi = glm::max(hi, p);
+  }
+  AddAttribute("POSITION", {0, 1, 2}, false,
+               ",\"min\":[" + Num(lo.x) + "," + Num(lo.y) + "," + Num(lo.z) +
+                   "],\"max\":[" + Num(hi.x) + "," + Num(hi.y) + "," +
+                   Num(hi.z) + "]");
+  if (!options.faceted) {
+    const glm::ivec3 n = options.mat.normalChannels;
+    AddAttribute("NORMAL", {n[0], n[1], n[2]}, false);
+  }
+  if (hasColor) {
+    const glm::ivec4 c = options.mat.colorChannels;
+    AddAttribute("COLOR_0", {c[0], c[1], c[2], c[3]}, true);
+  }
+  for (int c = 3; c < numProp; ++c) {
+    if (!used[c]) AddAttribute("_PROPERTY_" + std::to_string(c), {c}, false);
+  }
+
+  const std::string attributeJSON = "{" + Join(attributes) + "}";
+  std::vector<std::string> primitives;
+  const size_t numRun = std::max<size_t>(mesh.runIndex.size(), 1);
+  for (size_t run = 0; run < numRun; ++run) {
+    const size_t begin = mesh.runIndex.empty() ? 0 : mesh.runIndex[run];
+    const size_t end = run + 1 < mesh.runIndex.size() ? mesh.runIndex[run + 1]
+                                                      : mesh.triVerts.size();
+    if (end <= begin) continue;
+    const int indices = AddAccessor(indexView, sizeof(uint32_t) * begin,
+                                    kUnsignedInt, end - begin, 1, "");
+    std::string primitive = "{\"attributes\":" + attributeJSON +
+                            ",\"indices\":" + std::to_string(indices) +
+                            ",\"material\":0,\"mode\":4";
+    if (run < mesh.runOriginalID.size())
+      primitive += ",\"extras\":{\"runOriginalID\":" +
+                   std::to_string(mesh.runOriginalID[run]) + "}";
+    primitives.push_back(primitive + "}");
+  }
+
+  const glm::vec4& color = options.mat.color;
+  w.json =
+      "{\"asset\":{\"version\":\"2.0\",\"generator\":\"Manifold\"},"
+      "\"scene\":0,\"scenes\":[{\"nodes\":[0]}],"
+      "\"nodes\":[{\"mesh\":0,"
+      "\"matrix\":[0,0,1,0,1,0,0,0,0,1,0,0,0,0,0,1]}],"
+      "\"meshes\":[{\"primitives\":[" +
+      Join(primitives) +
+      "]}],"
+      "\"materials\":[{\"pbrMetallicRoughness\":{\"baseColorFactor\":[" +
+      Num(color.r) + "," + Num(color.g) + "," + Num(color.b) + "," +
+      Num(color.a) + "],\"metallicFactor\":" + Num(options.mat.metalness) +
+      ",\"roughnessFactor\":" + Num(options.mat.roughness) +
+      "}}],"
+      "\"buffers\":[{\"byteLength\":" +
+      std::to_string(w.binSize) + "}],\"bufferViews\":[" + Join(views) +
+      "],\"accessors\":[" + Join(accessors) + "]}";
+  // The JSON chunk is padded with spaces to a 4-byte boundary.
+  w.json.resize((w.json.size() + 3) & ~size_t(3), ' ');
+
+  if (Size() > std::numeric_limits<uint32_t>::max())
+    throw std::out_of_range("mesh too large");
+}
+
+GLBWriter::~GLBWriter() = default;
+
+/**
+ * The number of bytes Write will produce.
+ */
+size_t GLBWriter::Size() const {
+  return 12 + 8 + impl_->json.size() + 8 + impl_->binSize;
+}
+
+/**
+ * Writes the GLB into buffer, which must hold at least Size() bytes.
+ */
+void GLBWriter::Write(char* buffer) const { Write(buffer, 0, Size()); }
+
+/**
+ * Writes bytes [offset, offset + size) of the GLB into buffer, so a large
+ * file can be produced in pieces through a small buffer.
+ */
+void GLBWriter::Write(char* buffer, size_t offset, size_t size) const {
+  if (offset > Size() || size > Size() - offset)
+    throw std::out_of_range("Range is outside the GLB.");
+  const Impl& w = *impl_;
+  const size_t end = offset + size;
+  // Start of the next section within the GLB.
+  size_t pos = 0;
+  // Copies the part of the next section that falls within the range.
+  auto Put = [&](const void* data, size_t length) {
+    const size_t from = std::max(pos, offset);
+    const size_t to = std::min(pos + length, end);
+    if (from < to)
+      std::memcpy(buffer + (from - offset),
+                  static_cast<const char*>(data) + (from - pos), to - from);
+    pos += length;
+  };
+  const uint32_t header[] = {kMagic, 2, static_cast<uint32_t>(Size()),
+                             static_cast<uint32_t>(w.json.size()), kJSONChunk};
+  Put(header, sizeof(header));
+  Put(w.json.data(), w.json.size());
+  const uint32_t binHeader[] = {static_cast<uint32_t>(w.binSize), kBINChunk};
+  Put(binHeader, sizeof(binHeader));
+  Put(w.mesh.triVerts.data(), sizeof(uint32_t) * w.mesh.triVerts.size());
+  if (w.interleave)
+    Put(w.mesh.vertProperties.data(),
+        sizeof(float) * w.mesh.vertProperties.size());
+  for (const Impl::Gather& gather : w.gathers) {
+    // Only the verts overlapping the range are gathered.
+    const size_t stride = sizeof(float) * gather.channels.size();
+    const size_t sectionEnd = pos + stride * w.mesh.NumVert();
+    const size_t first = (std::max(pos, offset) - pos) / stride;
+    const size_t last = (std::min(sectionEnd, std::max(end, pos)) - pos +
+                         stride - 1) /
+                        stride;
+    pos += stride * first;
+    float value[4];
+    for (size_t vert = first; vert < last; ++vert) {
+      w.GatherVert(gather, vert, value);
+      Put(value, stride);
+    }
+    pos = sectionEnd;
+  }
+}
+
+/**
+ * Streams the GLB to an output stream, which should be opened in binary mode.
+ * It is written a chunk at a time, so memory use stays bounded.
+ */
+void GLBWriter::Write(std::ostream& stream) const {
+  constexpr size_t kChunk = 1 << 20;
+  std::vector<char> chunk(std::min(kChunk, Size()));
+  for (size_t offset = 0; offset < Size(); offset += chunk.size()) {
+    const size_t size = std::min(chunk.size(), Size() - offset);
+    Write(chunk.data(), offset, size);
+    stream.write(chunk.data(), size);
+  }
+}
+}  // namespace manifold
@@ -185,6 +185,15 @@ void ExportMesh(const std::string& filename, const MeshGL& mesh,
     return;
   }
 
+  if (options.optimizeVertexCache) {
+    MeshGL optimized = mesh;
+    OptimizeVertexCache(optimized);
+    ExportOptions rest = options;
+    rest.optimizeVertexCache = false;
+    ExportMesh(filename, optimized, rest);
+    return;
+  }
+
   std::string type = GetType(filename);
   const bool isYup = type == "glb2" || type == "gltf2";
 
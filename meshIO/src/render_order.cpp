@@ -0,0 +1,325 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <algorithm>
+#include <cmath>
+#include <limits>
+#include <numeric>
+#include <stdexcept>
+
+#include "meshIO.h"
+
+namespace {
+using namespace manifold;
+
+/// Triangle ranges of each run, or a single range when there are no runs.
+std::vector<uint32_t> RunTris(const MeshGL& mesh) {
+  std::vector<uint32_t> runTri;
+  for (const uint32_t corner : mesh.runIndex) runTri.push_back(corner / 3);
+  if (runTri.size() < 2) runTri = {0, static_cast<uint32_t>(mesh.NumTri())};
+  return runTri;
+}
+
+/// Forsyth's vertex score: verts recently used are cheap to use again, with
+/// the last triangle's three verts scored flat, and verts with few remaining
+/// triangles are boosted so they are finished off rather than left behind.
+float VertScore(int cachePos, int remaining, int cacheSize) {
+  if (remaining == 0) return -1;
+  float score = 0;
+  if (cachePos >= 0) {
+    score = cachePos < 3 ? 0.75f
+                         : std::pow(1 - static_cast<float>(cachePos - 3) /
+                                            (cacheSize - 3),
+                                    1.5f);
+  }
+  return score + 2 / std::sqrt(static_cast<float>(remaining));
+}
+
+glm::vec3 Position(const MeshGL& mesh, uint32_t vert) {
+  const float* props = &mesh.vertProperties[vert * mesh.numProp];
+  return glm::vec3(props[0], props[1], props[2]);
+}
+
+/// Appends the bounding sphere and normal cone of the given meshlet.
+void AddBounds(const MeshGL& mesh, const Meshlets& meshlets, size_t vertBegin,
+               size_t triBegin, std::vector<float>& bounds) {
+  glm::vec3 lo(std::numeric_limits<float>::infinity());
+  glm::vec3 hi = -lo;
+  for (size_t i = vertBegin; i < meshlets.meshletVerts.size(); ++i) {
+    const glm::vec3 pos = Position(mesh, meshlets.meshletVerts[i]);
+    lo = glm::min(lo, pos);
+    hi = glm::max(hi, pos);
+  }
+  const glm::vec3 center = 0.5f * (lo + hi);
+  float radius = 0;
+  for (size_t i = vertBegin; i < meshlets.meshletVerts.size(); ++i) {
+    const glm::vec3 pos = Position(mesh, meshlets.meshletVerts[i]);
+    radius = std::max(radius, glm::distance(center, pos));
+  }
+
+  std::vector<glm::vec3> normals;
+  glm::vec3 axis(0);
+  for (size_t i = 3 * triBegin; i < meshlets.meshletTris.size(); i += 3) {
+    glm::vec3 v[3];
+    for (int j : {0, 1, 2}) {
+      v[j] = Position(
+          mesh, meshlets.meshletVerts[vertBegin + meshlets.meshletTris[i + j]]);
+    }
+    const glm::vec3 normal = glm::cross(v[1] - v[0], v[2] - v[0]);
+    const float length = glm::length(normal);
+    if (length == 0) continue;
+    normals.push_back(normal / length);
+    axis += normals.back();
+  }
+  // A cutoff of 1 can never pass the culling test.
+  float cutoff = 1;
+  if (glm::length(axis) > 0) {
+    axis = glm::normalize(axis);
+    float minDot = 1;
+    for (const glm::vec3& normal : normals) {
+      minDot = std::min(minDot, glm::dot(axis, normal));
+    }
+    if (minDot > 0) cutoff = std::sqrt(1 - minDot * minDot);
+  }
+  bounds.insert(bounds.end(), {center.x, center.y, center.z, radius, axis.x,
+                               axis.y, axis.z, cutoff});
+}
+}  // namespace
+
+namespace manifold {
+
+/**
+ * Reorders the triangles of each run for the GPU's post-transform vertex
+ * cache using Forsyth's linear-speed algorithm, then renumbers the verts in
+ * order of first use so vertex fetches are mostly sequential. The order from
+ * GetMeshGL follows the spatial sort used for Boolean operations, which
+ * revisits verts too far apart for a cache to help.
+ *
+ * Triangles stay in their runs and keep their winding and corner order, so
+ * faceID, halfedgeTangent and the merge vectors are permuted along with them.
+ * Unreferenced verts are kept, after all the referenced ones.
+ *
+ * @param mesh The mesh to reorder in place, likely from Manifold.GetMeshGL().
+ * @param cacheSize The number of verts the cache model holds; at least 4.
+ */
+void OptimizeVertexCache(MeshGL& mesh, int cacheSize) {
+  if (cacheSize < 4) throw std::invalid_argument("cacheSize must be >= 4.");
+  const size_t numTri = mesh.NumTri();
+  const size_t numVert = mesh.NumVert();
+  if (numTri == 0) return;
+
+  std::vector<uint32_t> adjStart(numVert + 1, 0);
+  for (const uint32_t vert : mesh.triVerts) ++adjStart[vert + 1];
+  std::partial_sum(adjStart.begin(), adjStart.end(), adjStart.begin());
+  std::vector<uint32_t> adjTri(3 * numTri);
+  std::vector<uint32_t> next(adjStart.begin(), adjStart.end() - 1);
+  for (size_t tri = 0; tri < numTri; ++tri) {
+    for (int i : {0, 1, 2}) adjTri[next[mesh.triVerts[3 * tri + i]]++] = tri;
+  }
+
+  std::vector<int> remaining(numVert);
+  std::vector<int> cachePos(numVert, -1);
+  std::vector<float> vertScore(numVert);
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    remaining[vert] = adjStart[vert + 1] - adjStart[vert];
+    vertScore[vert] = VertScore(-1, remaining[vert], cacheSize);
+  }
+
+  std::vector<bool> emitted(numTri, false);
+  std::vector<uint32_t> newTri2Old;
+  newTri2Old.reserve(numTri);
+  std::vector<uint32_t> cache;
+  std::vector<uint32_t> nextCache;
+  const std::vector<uint32_t> runTri = RunTris(mesh);
+  for (size_t run = 0; run + 1 < runTri.size(); ++run) {
+    const size_t begin = runTri[run];
+    const size_t end = runTri[run + 1];
+    size_t cursor = begin;
+    int best = -1;
+    while (true) {
+      if (best < 0) {
+        // Nothing in the cache has triangles left, so start a new strip.
+        while (cursor < end && emitted[cursor]) ++cursor;
+        if (cursor == end) break;
+        best = cursor;
+      }
+      emitted[best] = true;
+      newTri2Old.push_back(best);
+
+      const uint32_t* triVerts = &mesh.triVerts[3 * best];
+      nextCache.clear();
+      for (int i : {0, 1, 2}) {
+        --remaining[triVerts[i]];
+        if (std::find(nextCache.begin(), nextCache.end(), triVerts[i]) ==
+            nextCache.end())
+          nextCache.push_back(triVerts[i]);
+      }
+      for (const uint32_t vert : cache) {
+        if (vert != triVerts[0] && vert != triVerts[1] && vert != triVerts[2])
+          nextCache.push_back(vert);
+      }
+      // Verts pushed past the end of the cache are scored as evicted.
+      for (size_t i = 0; i < nextCache.size(); ++i) {
+        const uint32_t vert = nextCache[i];
+        cachePos[vert] = i < static_cast<size_t>(cacheSize) ? i : -1;
+        vertScore[vert] = VertScore(cachePos[vert], remaining[vert], cacheSize);
+      }
+
+      best = -1;
+      float bestScore = -1;
+      for (const uint32_t vert : nextCache) {
+        for (uint32_t i = adjStart[vert]; i < adjStart[vert + 1]; ++i) {
+          const uint32_t tri = adjTri[i];
+          if (emitted[tri] || tri < begin || tri >= end) continue;
+          const float score = vertScore[mesh.triVerts[3 * tri]] +
+                              vertScore[mesh.triVerts[3 * tri + 1]] +
+                              vertScore[mesh.triVerts[3 * tri + 2]];
+          if (score > bestScore) {
+            bestScore = score;
+            best = tri;
+          }
+        }
+      }
+      nextCache.resize(std::min(nextCache.size(), size_t(cacheSize)));
+      std::swap(cache, nextCache);
+    }
+    // The next run starts with a cold cache.
+    for (const uint32_t vert : cache) {
+      cachePos[vert] = -1;
+      vertScore[vert] = VertScore(-1, remaining[vert], cacheSize);
+    }
+    cache.clear();
+  }
+
+  std::vector<int> old2new(numVert, -1);
+  std::vector<uint32_t> new2old;
+  new2old.reserve(numVert);
+  for (const uint32_t tri : newTri2Old) {
+    for (int i : {0, 1, 2}) {
+      const uint32_t vert = mesh.triVerts[3 * tri + i];
+      if (old2new[vert] < 0) {
+        old2new[vert] = new2old.size();
+        new2old.push_back(vert);
+      }
+    }
+  }
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    if (old2new[vert] < 0) {
+      old2new[vert] = new2old.size();
+      new2old.push_back(vert);
+    }
+  }
+
+  const int numProp = mesh.numProp;
+  std::vector<float> vertProperties(mesh.vertProperties.size());
+  for (size_t vert = 0; vert < numVert; ++vert) {
+    std::copy_n(&mesh.vertProperties[new2old[vert] * numProp], numProp,
+                &vertProperties[vert * numProp]);
+  }
+  mesh.vertProperties = std::move(vertProperties);
+
+  std::vector<uint32_t> triVerts(3 * numTri);
+  for (size_t tri = 0; tri < numTri; ++tri) {
+    for (int i : {0, 1, 2}) {
+      triVerts[3 * tri + i] = old2new[mesh.triVerts[3 * newTri2Old[tri] + i]];
+    }
+  }
+  mesh.triVerts = std::move(triVerts);
+
+  if (mesh.faceID.size() == numTri) {
+    std::vector<uint32_t> faceID(numTri);
+    for (size_t tri = 0; tri < numTri; ++tri) {
+      faceID[tri] = mesh.faceID[newTri2Old[tri]];
+    }
+    mesh.faceID = std::move(faceID);
+  }
+
+  if (mesh.halfedgeTangent.size() == 12 * numTri) {
+    std::vector<float> tangent(12 * numTri);
+    for (size_t tri = 0; tri < numTri; ++tri) {
+      std::copy_n(&mesh.halfedgeTangent[12 * newTri2Old[tri]], 12,
+                  &tangent[12 * tri]);
+    }
+    mesh.halfedgeTangent = std::move(tangent);
+  }
+
+  for (uint32_t& vert : mesh.mergeFromVert) vert = old2new[vert];
+  for (uint32_t& vert : mesh.mergeToVert) vert = old2new[vert];
+}
+
+/**
+ * Splits each run into meshlets of at most maxVerts verts and maxTris
+ * triangles, taking triangles in order, along with each meshlet's bounding
+ * sphere and normal cone for culling. Run OptimizeVertexCache first so
+ * consecutive triangles share verts and the meshlets come out compact.
+ *
+ * @param mesh The mesh to cluster, likely from Manifold.GetMeshGL().
+ * @param maxVerts The maximum verts per meshlet, between 3 and 256 so local
+ * indices fit in a byte.
+ * @param maxTris The maximum triangles per meshlet.
+ */
+Meshlets BuildMeshlets(const MeshGL& mesh, int maxVerts, int maxTris) {
+  if (maxVerts < 3 || maxVerts > 256 || maxTris < 1)
+    throw std::invalid_argument("Invalid meshlet size limits.");
+  Meshlets meshlets;
+  std::vector<int> local(mesh.NumVert(), -1);
+  size_t vertBegin = 0;
+  size_t triBegin = 0;
+
+  auto Flush = [&](uint32_t run) {
+    const size_t numVert = meshlets.meshletVerts.size() - vertBegin;
+    const size_t numTri = meshlets.meshletTris.size() / 3 - triBegin;
+    if (numTri == 0) return;
+    meshlets.ranges.insert(
+        meshlets.ranges.end(),
+        {static_cast<uint32_t>(vertBegin), static_cast<uint32_t>(numVert),
+         static_cast<uint32_t>(triBegin), static_cast<uint32_t>(numTri), run});
+    AddBounds(mesh, meshlets, vertBegin, triBegin, meshlets.bounds);
+    for (size_t i = vertBegin; i < meshlets.meshletVerts.size(); ++i) {
+      local[meshlets.meshletVerts[i]] = -1;
+    }
+    vertBegin = meshlets.meshletVerts.size();
+    triBegin = meshlets.meshletTris.size() / 3;
+  };
+
+  const std::vector<uint32_t> runTri = RunTris(mesh);
+  for (size_t run = 0; run + 1 < runTri.size(); ++run) {
+    for (size_t tri = runTri[run]; tri < runTri[run + 1]; ++tri) {
+      const uint32_t* triVerts = &mesh.triVerts[3 * tri];
+      int newVerts = 0;
+      for (int i : {0, 1, 2}) {
+        newVerts += local[triVerts[i]] < 0 &&
+                    std::find(triVerts, triVerts + i, triVerts[i]) ==
+                        triVerts + i;
+      }
+      if (meshlets.meshletVerts.size() - vertBegin + newVerts >
+              static_cast<size_t>(maxVerts) ||
+          meshlets.meshletTris.size() / 3 - triBegin >=
+              static_cast<size_t>(maxTris))
+        Flush(run);
+
+      for (int i : {0, 1, 2}) {
+        const uint32_t vert = triVerts[i];
+        if (local[vert] < 0) {
+          local[vert] = meshlets.meshletVerts.size() - vertBegin;
+          meshlets.meshletVerts.push_back(vert);
+        }
+        meshlets.meshletTris.push_back(local[vert]);
+      }
+    }
+    Flush(run);
+  }
+  return meshlets;
+}
+}  // namespace manifold
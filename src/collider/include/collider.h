@@ -13,6 +13,8 @@
 // limitations under the License.
 
 #pragma once
+#include <utility>
+
 #include "public.h"
 #include "sparse.h"
 #include "vec.h"
@@ -31,6 +33,49 @@ class Collider {
             typename T>
   SparseIndices Collisions(const VecView<const T>& queriesIn) const;
 
+  /**
+   * Visits the leaves whose boxes the ray origin + t * direction enters for
+   * some t in [0, tMax), nearest boxes first. leafFunc(leaf, tMax) may shrink
+   * tMax when it finds a hit, which prunes every box entered beyond it.
+   */
+  template <typename LeafFunc>
+  void RayCast(glm::vec3 origin, glm::vec3 direction, float& tMax,
+               LeafFunc leafFunc) const {
+    Traverse(tMax, leafFunc, [&](const Box& box) {
+      const float miss = std::numeric_limits<float>::infinity();
+      float enter = 0.0f;
+      float exit = miss;
+      for (int i : {0, 1, 2}) {
+        // An axis-parallel ray never crosses this slab, so it is either
+        // always inside it or never; 1 / 0 would give 0 * inf = NaN here.
+        if (direction[i] == 0.0f) {
+          if (origin[i] < box.min[i] || origin[i] > box.max[i]) return miss;
+          continue;
+        }
+        float t0 = (box.min[i] - origin[i]) / direction[i];
+        float t1 = (box.max[i] - origin[i]) / direction[i];
+        if (t0 > t1) std::swap(t0, t1);
+        enter = glm::max(enter, t0);
+        exit = glm::min(exit, t1);
+      }
+      return enter <= exit ? enter : miss;
+    });
+  }
+
+  /**
+   * Visits the leaves whose boxes lie closer than sqrt(dist2) to point, nearest
+   * boxes first. leafFunc(leaf, dist2) may shrink dist2 when it finds a closer
+   * point, which prunes every box farther away.
+   */
+  template <typename LeafFunc>
+  void Nearest(glm::vec3 point, float& dist2, LeafFunc leafFunc) const {
+    Traverse(dist2, leafFunc, [&](const Box& box) {
+      const glm::vec3 d =
+          glm::max(box.min - point, glm::max(glm::vec3(0), point - box.max));
+      return glm::dot(d, d);
+    });
+  }
+
  private:
   Vec<Box> nodeBBox_;
   Vec<int> nodeParent_;
@@ -41,6 +86,44 @@ class Collider {
   int NumLeaves() const {
     return internalChildren_.empty() ? 0 : (NumInternal() + 1);
   };
+
+  // Best-first depth-first search shared by the nearest-hit queries. keyFunc
+  // returns a lower bound on the key of anything inside a box, and the search
+  // skips boxes whose bound is not below limit.
+  template <typename LeafFunc, typename KeyFunc>
+  void Traverse(float& limit, LeafFunc& leafFunc, KeyFunc keyFunc) const {
+    if (internalChildren_.empty()) return;
+    // the radix tree has max depth 62, as in FindCollisions.
+    thrust::pair<int, float> stack[64];
+    int top = -1;
+    int node = 1;  // root
+    float key = keyFunc(nodeBBox_[node]);
+    while (1) {
+      if (key < limit) {
+        if (node % 2 == 0) {
+          leafFunc(node / 2, limit);
+        } else {
+          const thrust::pair<int, int> children =
+              internalChildren_[(node - 1) / 2];
+          float key1 = keyFunc(nodeBBox_[children.first]);
+          float key2 = keyFunc(nodeBBox_[children.second]);
+          int child1 = children.first;
+          int child2 = children.second;
+          if (key2 < key1) {
+            std::swap(key1, key2);
+            std::swap(child1, child2);
+          }
+          if (key2 < limit) stack[++top] = thrust::make_pair(child2, key2);
+          node = child1;
+          key = key1;
+          continue;
+        }
+      }
+      if (top < 0) break;
+      node = stack[top].first;
+      key = stack[top--].second;
+    }
+  }
 };
 
 }  // namespace manifold
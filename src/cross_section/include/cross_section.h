@@ -31,6 +31,8 @@ namespace manifold {
  */
 
 struct PathImpl;
+struct FontImpl;
+class Font;
 
 /**
  * Two-dimensional cross sections guaranteed to be without self-intersections,
@@ -76,6 +78,7 @@ class CrossSection {
                FillRule fillrule = FillRule::Positive);
   CrossSection(const Rect& rect);
   static CrossSection Text(const std::string& fontFile, const std::string& text, u_int32_t pixelHeight, int interpRes, FillRule fillRule);
+  static CrossSection Text(const Font& font, const std::string& text, u_int32_t pixelHeight, int interpRes, FillRule fillRule = FillRule::Positive);
   static CrossSection Square(const glm::vec2 dims, bool center = false);
   static CrossSection Circle(float radius, int circularSegments = 0);
   ///@}
@@ -129,6 +132,13 @@ class CrossSection {
 
   CrossSection Offset(double delta, JoinType jt, double miter_limit = 2.0,
                       int circularSegments = 0) const;
+  std::vector<CrossSection> Offsets(const std::vector<double>& deltas,
+                                    JoinType jt, double miter_limit = 2.0,
+                                    int circularSegments = 0) const;
+  static std::vector<CrossSection> Offsets(
+      const std::vector<CrossSection>& crossSections,
+      const std::vector<double>& deltas, JoinType jt,
+      double miter_limit = 2.0, int circularSegments = 0);
   ///@}
 
   /** @name Boolean
@@ -144,6 +154,10 @@ class CrossSection {
   CrossSection& operator-=(const CrossSection&);
   CrossSection operator^(const CrossSection&) const;
   CrossSection& operator^=(const CrossSection&);
+  Polygons ClipPaths(const Polygons& openPaths) const;
+  static std::vector<Polygons> ClipPaths(
+      const std::vector<CrossSection>& crossSections,
+      const std::vector<Polygons>& openPaths);
   ///@}
 
   /** @name Topological
@@ -174,5 +188,25 @@ class CrossSection {
   CrossSection(std::shared_ptr<const PathImpl> paths);
   std::shared_ptr<const PathImpl> GetPaths() const;
 };
+
+/**
+ * A loaded font face whose glyph outlines are cached as Polygons, keyed by
+ * glyph, pixel height and curve interpolation resolution, so that repeated
+ * calls to CrossSection::Text only translate and concatenate glyphs. Copies
+ * share the same face and cache, and are safe to use from multiple threads.
+ */
+class Font {
+ public:
+  static Font Load(const std::string& fontFile);
+
+  Polygons Glyph(uint32_t codepoint, uint32_t pixelHeight, int interpRes,
+                 float* advance = nullptr) const;
+  size_t NumCachedGlyphs() const;
+
+ private:
+  std::shared_ptr<FontImpl> impl_;
+  Font(std::shared_ptr<FontImpl> impl);
+  friend class CrossSection;
+};
 /** @} */
 }  // namespace manifold
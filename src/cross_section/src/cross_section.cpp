@@ -13,7 +13,12 @@
 // limitations under the License.
 
 #include "cross_section.h"
+
+#include <stdexcept>
+
+#include "par.h"
 #include "text_to_polygon.h"
+#include "utils.h"
 
 #include "clipper2/clipper.core.h"
 #include "clipper2/clipper.h"
@@ -33,6 +38,9 @@ struct PathImpl {
 
 namespace {
 const int precision_ = 8;
+// Number of neighboring sections unioned together in a single Clipper2 call
+// when a BatchBoolean is split into spatial tiles.
+constexpr size_t kTileSize = 64;
 
 C2::ClipType cliptype_of_op(OpType op) {
   C2::ClipType ct = C2::ClipType::Union;
@@ -82,6 +90,20 @@ C2::JoinType jt(CrossSection::JoinType jointype) {
   return jt;
 }
 
+// Calculates the Clipper2 arc tolerance (in scaled integer units) as a
+// function of circular segments and delta (radius) in order to get back the
+// same number of segments in Clipper2:
+// steps_per_360 = PI / acos(1 - arc_tol / abs_delta)
+double arc_tol_of(double delta, CrossSection::JoinType jointype,
+                  int circularSegments) {
+  if (jointype != CrossSection::JoinType::Round) return 0.;
+  int n = circularSegments > 2 ? circularSegments
+                               : Quality::GetCircularSegments(delta);
+  const double abs_delta = std::fabs(delta);
+  const double scaled_delta = abs_delta * std::pow(10, precision_);
+  return (std::cos(Clipper2Lib::PI / n) - 1) * -scaled_delta;
+}
+
 glm::vec2 v2_of_pd(const C2::PointD p) { return {p.x, p.y}; }
 
 C2::PointD v2_to_pd(const glm::vec2 v) { return C2::PointD(v.x, v.y); }
@@ -159,6 +181,89 @@ void flatten(const C2::PolyTreeD* tree, C2::PathsD& polys, int i) {
   }
 }
 
+uint32_t SpreadBits2(uint32_t v) {
+  v = v & 0xffff;
+  v = (v | v << 8) & 0x00ff00ff;
+  v = (v | v << 4) & 0x0f0f0f0f;
+  v = (v | v << 2) & 0x33333333;
+  v = (v | v << 1) & 0x55555555;
+  return v;
+}
+
+// 2D Morton code of a point, quantized to 16 bits per axis within bounds.
+uint32_t MortonCode2(glm::vec2 p, const Rect& bounds) {
+  const glm::vec2 size =
+      glm::max(bounds.Size(), glm::vec2(std::numeric_limits<float>::min()));
+  const glm::vec2 xy =
+      glm::clamp((p - bounds.min) / size, glm::vec2(0), glm::vec2(1)) *
+      65535.0f;
+  return SpreadBits2(static_cast<uint32_t>(xy.x)) |
+         (SpreadBits2(static_cast<uint32_t>(xy.y)) << 1);
+}
+
+/**
+ * Union a large number of path sets by sorting them along a Morton curve of
+ * their bounding rectangle centers, unioning spatially coherent tiles of
+ * kTileSize sets in parallel, and then merging neighboring tiles pairwise in a
+ * fixed reduction tree. The grouping is a function of the input only, so the
+ * result does not depend on thread scheduling.
+ */
+C2::PathsD UnionTiled(const std::vector<const C2::PathsD*>& input) {
+  std::vector<const C2::PathsD*> sections;
+  sections.reserve(input.size());
+  for (auto ps : input) {
+    if (!ps->empty()) sections.push_back(ps);
+  }
+  const size_t n = sections.size();
+  if (n == 0) return C2::PathsD();
+
+  const auto policy = autoPolicy(n);
+  std::vector<Rect> boxes(n);
+  for_each_n(policy, countAt(0_z), n, [&](size_t i) {
+    for (const auto& path : *sections[i]) {
+      for (const auto& p : path) {
+        boxes[i].Union(glm::vec2(p.x, p.y));
+      }
+    }
+  });
+  Rect bounds;
+  for (const auto& box : boxes) bounds = bounds.Union(box);
+
+  std::vector<uint32_t> morton(n);
+  std::vector<size_t> order(n);
+  for (size_t i = 0; i < n; ++i) {
+    morton[i] = MortonCode2(boxes[i].Center(), bounds);
+    order[i] = i;
+  }
+  stable_sort(policy, order.begin(), order.end(),
+              [&morton](size_t a, size_t b) { return morton[a] < morton[b]; });
+
+  const size_t nTiles = (n + kTileSize - 1) / kTileSize;
+  std::vector<C2::PathsD> tiles(nTiles);
+  for_each_n(policy, countAt(0_z), nTiles, [&](size_t t) {
+    const size_t end = std::min(n, (t + 1) * kTileSize);
+    C2::PathsD paths;
+    for (size_t i = t * kTileSize; i < end; ++i) {
+      const C2::PathsD& ps = *sections[order[i]];
+      paths.insert(paths.end(), ps.begin(), ps.end());
+    }
+    tiles[t] = C2::Union(paths, C2::FillRule::Positive, precision_);
+  });
+
+  while (tiles.size() > 1) {
+    std::vector<C2::PathsD> merged((tiles.size() + 1) / 2);
+    for_each_n(autoPolicy(tiles.size() * kTileSize), countAt(0_z),
+               tiles.size() / 2, [&](size_t i) {
+                 merged[i] = C2::BooleanOp(
+                     C2::ClipType::Union, C2::FillRule::Positive,
+                     tiles[2 * i], tiles[2 * i + 1], precision_);
+               });
+    if (tiles.size() % 2 == 1) merged.back() = std::move(tiles.back());
+    tiles = std::move(merged);
+  }
+  return tiles.front();
+}
+
 bool V2Lesser(glm::vec2 a, glm::vec2 b) {
   if (a.x == b.x) return a.y < b.y;
   return a.x < b.x;
@@ -385,6 +490,11 @@ CrossSection CrossSection::Boolean(const CrossSection& second,
 /**
  * Perform the given boolean operation on a list of CrossSections. In case of
  * Subtract, all CrossSections in the tail are differenced from the head.
+ *
+ * Large lists (above the autoPolicy threshold) are partitioned spatially by
+ * the bounds of each CrossSection and the tiles are unioned in parallel
+ * before being merged, rather than handing every path to a single Clipper2
+ * call.
  */
 CrossSection CrossSection::BatchBoolean(
     const std::vector<CrossSection>& crossSections, OpType op) {
@@ -394,6 +504,23 @@ CrossSection CrossSection::BatchBoolean(
     return crossSections[0];
 
   auto subjs = crossSections[0].GetPaths();
+
+  if (autoPolicy(crossSections.size()) == ExecutionPolicy::Par) {
+    std::vector<std::shared_ptr<const PathImpl>> held;
+    held.reserve(crossSections.size());
+    std::vector<const C2::PathsD*> sections;
+    sections.reserve(crossSections.size());
+    const size_t first = op == OpType::Add ? 0 : 1;
+    for (size_t i = first; i < crossSections.size(); ++i) {
+      held.push_back(crossSections[i].GetPaths());
+      sections.push_back(&held.back()->paths_);
+    }
+    auto clips = UnionTiled(sections);
+    if (op == OpType::Add) return CrossSection(shared_paths(clips));
+    auto res = C2::BooleanOp(cliptype_of_op(op), C2::FillRule::Positive,
+                             subjs->paths_, clips, precision_);
+    return CrossSection(shared_paths(res));
+  }
   int n_clips = 0;
   for (int i = 1; i < crossSections.size(); ++i) {
     n_clips += crossSections[i].GetPaths()->paths_.size();
@@ -460,6 +587,68 @@ CrossSection& CrossSection::operator^=(const CrossSection& Q) {
   return *this;
 }
 
+/**
+ * Clip a set of open polylines (e.g. infill or hatch lines) against this
+ * CrossSection, returning the pieces that lie inside it. Unlike the closed
+ * contours of a CrossSection, the input paths are not implicitly closed, and
+ * a single input path may be split into several output paths.
+ *
+ * @param openPaths The open polylines to clip.
+ */
+Polygons CrossSection::ClipPaths(const Polygons& openPaths) const {
+  C2::PathsD open;
+  open.reserve(openPaths.size());
+  for (const auto& path : openPaths) {
+    open.push_back(pathd_of_contour(path));
+  }
+  C2::ClipperD clipper(precision_);
+  clipper.AddOpenSubject(open);
+  clipper.AddClip(GetPaths()->paths_);
+  C2::PathsD closedRes, openRes;
+  clipper.Execute(C2::ClipType::Intersection, C2::FillRule::Positive,
+                  closedRes, openRes);
+
+  auto polys = Polygons();
+  polys.reserve(openRes.size());
+  for (const auto& p : openRes) {
+    auto sp = SimplePolygon();
+    sp.reserve(p.size());
+    for (const auto& v : p) {
+      sp.push_back(v2_of_pd(v));
+    }
+    polys.push_back(sp);
+  }
+  return polys;
+}
+
+/**
+ * Clip a set of open polylines against each of the given CrossSections (e.g.
+ * the layers of a print job) in parallel.
+ *
+ * @param crossSections The regions to clip against.
+ * @param openPaths The open polylines for each region, must be the same
+ * length as crossSections.
+ * @return The clipped polylines for each region.
+ */
+std::vector<Polygons> CrossSection::ClipPaths(
+    const std::vector<CrossSection>& crossSections,
+    const std::vector<Polygons>& openPaths) {
+  if (crossSections.size() != openPaths.size()) {
+    throw std::invalid_argument(
+        "Must have the same number of CrossSections and sets of paths.");
+  }
+  const size_t n = crossSections.size();
+  // GetPaths() lazily applies the transform, so resolve it before going
+  // parallel.
+  for (const auto& cs : crossSections) cs.GetPaths();
+  std::vector<Polygons> out(n);
+  for_each_n(n > 1 ? ExecutionPolicy::Par : ExecutionPolicy::Seq,
+             countAt(0_z), n, [&](size_t i) {
+               out[i] = crossSections[i].ClipPaths(openPaths[i]);
+             });
+  return out;
+}
+
 /**
  * Construct a CrossSection from a vector of other CrossSections (batch
  * boolean union).
@@ -676,23 +865,90 @@ CrossSection CrossSection::Simplify(double epsilon) const {
 CrossSection CrossSection::Offset(double delta, JoinType jointype,
                                   double miter_limit,
                                   int circularSegments) const {
-  double arc_tol = 0.;
-  if (jointype == JoinType::Round) {
-    int n = circularSegments > 2 ? circularSegments
-                                 : Quality::GetCircularSegments(delta);
-    // This calculates tolerance as a function of circular segments and delta
-    // (radius) in order to get back the same number of segments in Clipper2:
-    // steps_per_360 = PI / acos(1 - arc_tol / abs_delta)
-    const double abs_delta = std::fabs(delta);
-    const double scaled_delta = abs_delta * std::pow(10, precision_);
-    arc_tol = (std::cos(Clipper2Lib::PI / n) - 1) * -scaled_delta;
-  }
+  const double arc_tol = arc_tol_of(delta, jointype, circularSegments);
   auto ps =
       C2::InflatePaths(GetPaths()->paths_, delta, jt(jointype),
                        C2::EndType::Polygon, miter_limit, precision_, arc_tol);
   return CrossSection(shared_paths(ps));
 }
 
+/**
+ * Inflate the contours in this CrossSection by each of the given deltas,
+ * e.g. to produce a series of insets. Equivalent to calling Offset once per
+ * delta, but the contours are converted to Clipper2's integer representation
+ * only once and the deltas are processed in parallel.
+ *
+ * @param deltas The offset distances, see Offset.
+ * @param jt The join type specifying the treatment of contour joins
+ * (corners).
+ * @param miter_limit See Offset.
+ * @param circularSegments See Offset.
+ * @return One CrossSection per delta, in the same order as deltas.
+ */
+std::vector<CrossSection> CrossSection::Offsets(
+    const std::vector<double>& deltas, JoinType jt, double miter_limit,
+    int circularSegments) const {
+  return Offsets({*this}, deltas, jt, miter_limit, circularSegments);
+}
+
+/**
+ * Inflate each of the given CrossSections (e.g. the layers of a print job) by
+ * each of the given deltas in a single batch, processing all of the
+ * (CrossSection, delta) pairs in parallel.
+ *
+ * @param crossSections The CrossSections to offset.
+ * @param deltas The offset distances, see Offset.
+ * @param jt The join type specifying the treatment of contour joins
+ * (corners).
+ * @param miter_limit See Offset.
+ * @param circularSegments See Offset.
+ * @return A vector of crossSections.size() * deltas.size() CrossSections,
+ * where the result for crossSections[i] and deltas[j] is found at index
+ * i * deltas.size() + j.
+ */
+std::vector<CrossSection> CrossSection::Offsets(
+    const std::vector<CrossSection>& crossSections,
+    const std::vector<double>& deltas, JoinType jointype, double miter_limit,
+    int circularSegments) {
+  const size_t nSection = crossSections.size();
+  const size_t nDelta = deltas.size();
+  std::vector<CrossSection> out(nSection * nDelta);
+  if (out.empty()) return out;
+
+  const double scale = std::pow(10, precision_);
+  std::vector<std::shared_ptr<const PathImpl>> paths;
+  paths.reserve(nSection);
+  for (const auto& cs : crossSections) paths.push_back(cs.GetPaths());
+
+  const auto policy =
+      out.size() > 1 ? ExecutionPolicy::Par : ExecutionPolicy::Seq;
+  std::vector<C2::Paths64> scaled(nSection);
+  for_each_n(policy, countAt(0_z), nSection, [&](size_t i) {
+    int error_code = 0;
+    scaled[i] =
+        C2::ScalePaths<int64_t, double>(paths[i]->paths_, scale, error_code);
+    if (error_code) scaled[i].clear();
+  });
+
+  for_each_n(policy, countAt(0_z), out.size(), [&](size_t k) {
+    const size_t i = k / nDelta;
+    const double delta = deltas[k % nDelta];
+    if (delta == 0) {
+      out[k] = CrossSection(paths[i]);
+      return;
+    }
+    C2::ClipperOffset offset(miter_limit,
+                             arc_tol_of(delta, jointype, circularSegments));
+    offset.AddPaths(scaled[i], jt(jointype), C2::EndType::Polygon);
+    C2::Paths64 solution;
+    offset.Execute(delta * scale, solution);
+    int error_code = 0;
+    auto ps = C2::ScalePaths<double, int64_t>(solution, 1 / scale, error_code);
+    out[k] = CrossSection(shared_paths(error_code ? C2::PathsD() : ps));
+  });
+  return out;
+}
+
 /**
  * Compute the convex hull enveloping a set of cross-sections.
  *
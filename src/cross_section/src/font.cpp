@@ -0,0 +1,265 @@
+// Copyright 2023 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <ft2build.h>
+#include FT_FREETYPE_H
+#include FT_OUTLINE_H
+
+#include <algorithm>
+#include <functional>
+#include <mutex>
+#include <stdexcept>
+#include <unordered_map>
+
+#include "cross_section.h"
+
+namespace {
+using namespace manifold;
+
+struct CachedGlyph {
+  Polygons polys;
+  float advance = 0;
+};
+
+struct GlyphKey {
+  uint32_t codepoint;
+  uint32_t pixelHeight;
+  int interpRes;
+
+  bool operator==(const GlyphKey& other) const {
+    return codepoint == other.codepoint && pixelHeight == other.pixelHeight &&
+           interpRes == other.interpRes;
+  }
+};
+
+struct GlyphKeyHash {
+  size_t operator()(const GlyphKey& key) const {
+    size_t h = std::hash<uint32_t>()(key.codepoint);
+    h = h * 31 + std::hash<uint32_t>()(key.pixelHeight);
+    return h * 31 + std::hash<int>()(key.interpRes);
+  }
+};
+
+struct Outliner {
+  Polygons polys;
+  glm::vec2 last = glm::vec2(0);
+  int interpRes;
+};
+
+glm::vec2 ToVec2(const FT_Vector* v) {
+  return glm::vec2(v->x / 64.0f, v->y / 64.0f);
+}
+
+int MoveTo(const FT_Vector* to, void* user) {
+  auto* o = static_cast<Outliner*>(user);
+  o->last = ToVec2(to);
+  o->polys.push_back({o->last});
+  return 0;
+}
+
+int LineTo(const FT_Vector* to, void* user) {
+  auto* o = static_cast<Outliner*>(user);
+  o->last = ToVec2(to);
+  o->polys.back().push_back(o->last);
+  return 0;
+}
+
+int ConicTo(const FT_Vector* control, const FT_Vector* to, void* user) {
+  auto* o = static_cast<Outliner*>(user);
+  const glm::vec2 p0 = o->last;
+  const glm::vec2 p1 = ToVec2(control);
+  const glm::vec2 p2 = ToVec2(to);
+  for (int i = 1; i <= o->interpRes; ++i) {
+    const float t = static_cast<float>(i) / o->interpRes;
+    const float s = 1 - t;
+    o->polys.back().push_back(s * s * p0 + 2 * s * t * p1 + t * t * p2);
+  }
+  o->last = p2;
+  return 0;
+}
+
+int CubicTo(const FT_Vector* control1, const FT_Vector* control2,
+            const FT_Vector* to, void* user) {
+  auto* o = static_cast<Outliner*>(user);
+  const glm::vec2 p0 = o->last;
+  const glm::vec2 p1 = ToVec2(control1);
+  const glm::vec2 p2 = ToVec2(control2);
+  const glm::vec2 p3 = ToVec2(to);
+  for (int i = 1; i <= o->interpRes; ++i) {
+    const float t = static_cast<float>(i) / o->interpRes;
+    const float s = 1 - t;
+    o->polys.back().push_back(s * s * s * p0 + 3 * s * s * t * p1 +
+                              3 * s * t * t * p2 + t * t * t * p3);
+  }
+  o->last = p3;
+  return 0;
+}
+
+// Decodes the next UTF-8 codepoint starting at i, advancing i past it.
+// Malformed bytes are passed through as single codepoints.
+uint32_t NextCodepoint(const std::string& text, size_t& i) {
+  const auto c = static_cast<unsigned char>(text[i++]);
+  int extra = c >= 0xf0 ? 3 : c >= 0xe0 ? 2 : c >= 0xc0 ? 1 : 0;
+  uint32_t cp = extra == 0 ? c : c & (0x3f >> extra);
+  for (; extra > 0 && i < text.size(); --extra) {
+    const auto next = static_cast<unsigned char>(text[i]);
+    if ((next & 0xc0) != 0x80) break;
+    cp = (cp << 6) | (next & 0x3f);
+    ++i;
+  }
+  return cp;
+}
+}  // namespace
+
+namespace manifold {
+
+struct FontImpl {
+  FT_Library library = nullptr;
+  FT_Face face = nullptr;
+  // FreeType faces are not thread-safe, so this guards both the face and the
+  // cache. Glyphs are stored behind shared_ptr so that layout can read them
+  // without holding the lock.
+  std::mutex mutex;
+  std::unordered_map<GlyphKey, std::shared_ptr<const CachedGlyph>,
+                     GlyphKeyHash>
+      cache;
+
+  ~FontImpl() {
+    if (face != nullptr) FT_Done_Face(face);
+    if (library != nullptr) FT_Done_FreeType(library);
+  }
+
+  std::shared_ptr<const CachedGlyph> Get(uint32_t codepoint,
+                                         uint32_t pixelHeight, int interpRes) {
+    const GlyphKey key{codepoint, pixelHeight, interpRes};
+    std::lock_guard<std::mutex> lock(mutex);
+    auto it = cache.find(key);
+    if (it != cache.end()) return it->second;
+
+    auto glyph = std::make_shared<CachedGlyph>();
+    if (FT_Set_Pixel_Sizes(face, 0, pixelHeight) == 0 &&
+        FT_Load_Char(face, codepoint, FT_LOAD_NO_BITMAP) == 0 &&
+        face->glyph->format == FT_GLYPH_FORMAT_OUTLINE) {
+      FT_Outline* outline = &face->glyph->outline;
+      // TrueType fills clockwise contours; flip them to match the Positive
+      // fill rule.
+      if (FT_Outline_Get_Orientation(outline) == FT_ORIENTATION_TRUETYPE)
+        FT_Outline_Reverse(outline);
+      FT_Outline_Funcs funcs;
+      funcs.move_to = MoveTo;
+      funcs.line_to = LineTo;
+      funcs.conic_to = ConicTo;
+      funcs.cubic_to = CubicTo;
+      funcs.shift = 0;
+      funcs.delta = 0;
+      Outliner outliner;
+      outliner.interpRes = std::max(interpRes, 1);
+      FT_Outline_Decompose(outline, &funcs, &outliner);
+      for (auto& poly : outliner.polys) {
+        if (poly.size() > 1 && poly.front() == poly.back()) poly.pop_back();
+        if (poly.size() > 2) glyph->polys.push_back(std::move(poly));
+      }
+      glyph->advance = face->glyph->advance.x / 64.0f;
+    }
+    cache.emplace(key, glyph);
+    return glyph;
+  }
+
+  float LineHeight(uint32_t pixelHeight) {
+    std::lock_guard<std::mutex> lock(mutex);
+    if (FT_Set_Pixel_Sizes(face, 0, pixelHeight) != 0) return pixelHeight;
+    return face->size->metrics.height / 64.0f;
+  }
+};
+
+Font::Font(std::shared_ptr<FontImpl> impl) : impl_(impl) {}
+
+/**
+ * Loads a font file (e.g. .ttf or .otf) once, so that its glyphs can be
+ * reused across calls to CrossSection::Text.
+ *
+ * @param fontFile Path to the font file.
+ */
+Font Font::Load(const std::string& fontFile) {
+  auto impl = std::make_shared<FontImpl>();
+  if (FT_Init_FreeType(&impl->library) != 0) {
+    throw std::runtime_error("Failed to initialize FreeType.");
+  }
+  if (FT_New_Face(impl->library, fontFile.c_str(), 0, &impl->face) != 0) {
+    throw std::runtime_error("Failed to load font: " + fontFile);
+  }
+  return Font(impl);
+}
+
+/**
+ * Returns the outline of a single glyph in pixel units, with its origin on the
+ * baseline, loading and caching it on first use.
+ *
+ * @param codepoint Unicode codepoint of the glyph.
+ * @param pixelHeight FreeType pixel height.
+ * @param interpRes Number of segments per curve.
+ * @param advance If non-null, receives the horizontal advance of the glyph.
+ */
+Polygons Font::Glyph(uint32_t codepoint, uint32_t pixelHeight, int interpRes,
+                     float* advance) const {
+  auto glyph = impl_->Get(codepoint, pixelHeight, interpRes);
+  if (advance != nullptr) *advance = glyph->advance;
+  return glyph->polys;
+}
+
+/**
+ * The number of distinct (glyph, size, resolution) entries cached so far.
+ */
+size_t Font::NumCachedGlyphs() const {
+  std::lock_guard<std::mutex> lock(impl_->mutex);
+  return impl_->cache.size();
+}
+
+/**
+ * Renders text to a cross section using a preloaded font, so that each glyph
+ * is only outlined once per size and resolution. Each newline starts a new
+ * line one line height below the previous baseline.
+ *
+ * @param font A font from Font::Load.
+ * @param text UTF-8 text to render as polygons.
+ * @param pixelHeight FreeType pixel height.
+ * @param interpRes Resolution of interpolation of curves.
+ */
+CrossSection CrossSection::Text(const Font& font, const std::string& text,
+                                u_int32_t pixelHeight, int interpRes,
+                                FillRule fillRule) {
+  Polygons polys;
+  glm::vec2 pen(0);
+  float lineHeight = -1;
+  size_t i = 0;
+  while (i < text.size()) {
+    const uint32_t codepoint = NextCodepoint(text, i);
+    if (codepoint == '\n') {
+      if (lineHeight < 0) lineHeight = font.impl_->LineHeight(pixelHeight);
+      pen = glm::vec2(0, pen.y - lineHeight);
+      continue;
+    }
+    auto glyph = font.impl_->Get(codepoint, pixelHeight, interpRes);
+    for (const auto& poly : glyph->polys) {
+      SimplePolygon moved;
+      moved.reserve(poly.size());
+      for (const glm::vec2& v : poly) moved.push_back(v + pen);
+      polys.push_back(std::move(moved));
+    }
+    pen.x += glyph->advance;
+  }
+  return CrossSection(polys, fillRule);
+}
+
+}  // namespace manifold
@@ -250,6 +250,9 @@ class Manifold {
   Manifold Refine(int) const;
   Manifold RefineToLength(float) const;
   // Manifold RefineToPrecision(float);
+  Manifold Decimate(int targetTris, float maxError) const;
+  std::vector<Manifold> LODs(int levels, float ratio = 0.5) const;
+  int NumCachedLODs() const;
   ///@}
 
   /** @name Boolean
@@ -259,6 +262,8 @@ class Manifold {
   Manifold Boolean(const Manifold& second, OpType op) const;
   static Manifold BatchBoolean(const std::vector<Manifold>& manifolds,
                                OpType op);
+  static std::vector<Manifold> EvaluateAll(
+      const std::vector<Manifold>& manifolds);
   // Boolean operation shorthand
   Manifold operator+(const Manifold&) const;  // Add (Union)
   Manifold& operator+=(const Manifold&);
@@ -288,6 +293,26 @@ class Manifold {
   static Manifold Hull(const std::vector<glm::vec3>& pts);
   ///@}
 
+  /** @name Spatial queries
+   *  Batched queries against the triangle BVH, run in parallel.
+   */
+  ///@{
+  std::vector<RayHit> RayCast(const std::vector<glm::vec3>& origins,
+                              const std::vector<glm::vec3>& directions) const;
+  std::vector<SurfacePoint> ClosestPoints(
+      const std::vector<glm::vec3>& points) const;
+  std::vector<uint8_t> Contains(const std::vector<glm::vec3>& points) const;
+  ///@}
+
+  /** @name Signed distance
+   *  Samples of the exact signed distance, and offsets meshed from it.
+   */
+  ///@{
+  std::vector<float> SampleSDF(Box bounds, glm::ivec3 gridSize) const;
+  Manifold Offset(float delta, float edgeLength) const;
+  Manifold Shell(float thickness, float edgeLength) const;
+  ///@}
+
   /** @name Testing hooks
    *  These are just for internal testing.
    */
@@ -306,6 +331,31 @@ class Manifold {
   mutable std::shared_ptr<CsgNode> pNode_;
 
   CsgLeafNode& GetCsgLeafNode() const;
+  friend class Scene;
+};
+
+/**
+ * A collection of Manifolds, such as the parts of an assembly, with a bounding
+ * volume hierarchy over their bounding boxes for finding interfering pairs
+ * without comparing every pair. Parts can be replaced individually as they
+ * move; the hierarchy is refit rather than rebuilt until many parts have moved.
+ */
+class Scene {
+ public:
+  Scene(const std::vector<Manifold>& parts = {});
+  ~Scene();
+  Scene(Scene&&) noexcept;
+  Scene& operator=(Scene&&) noexcept;
+
+  int NumParts() const;
+  Manifold GetPart(int i) const;
+  void SetPart(int i, const Manifold& part);
+  void TransformPart(int i, const glm::mat4x3& transform);
+  std::vector<std::pair<int, int>> Overlaps(bool exact = true) const;
+
+ private:
+  struct Impl;
+  std::unique_ptr<Impl> impl_;
 };
 /** @} */
 }  // namespace manifold
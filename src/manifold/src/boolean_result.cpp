@@ -15,6 +15,7 @@
 #include <algorithm>
 #include <array>
 #include <map>
+#include <numeric>
 
 #if MANIFOLD_PAR == 'T' && __has_include(<tbb/concurrent_map.h>)
 #define TBB_PREVIEW_CONCURRENT_ORDERED_CONTAINERS 1
@@ -212,7 +213,7 @@ void AddNewEdgeVerts(
 #if MANIFOLD_PAR == 'T' && __has_include(<tbb/tbb.h>)
   // parallelize operations, requires concurrent_map so we can only enable this
   // with tbb
-  if (!ManifoldParams().deterministic && p1q2.size() > kParallelThreshold) {
+  if (p1q2.size() > kParallelThreshold) {
     // ideally we should have 1 mutex per key, but kParallelThreshold is enough
     // to avoid contention for most of the cases
     std::array<std::mutex, kParallelThreshold> mutexes;
@@ -235,6 +236,19 @@ void AddNewEdgeVerts(
   for (size_t i = 0; i < p1q2.size(); ++i) processFun(i);
 }
 
+template <typename K>
+void SortEdgeVerts(concurrent_map<K, std::vector<EdgePos>> &edges) {
+  // The parallel AddNewEdgeVerts appends to each edge in whatever order the
+  // threads arrive; sorting makes the order a function of the inputs alone.
+  for (auto &value : edges) {
+    std::sort(value.second.begin(), value.second.end(),
+              [](const EdgePos &a, const EdgePos &b) {
+                return a.vert != b.vert ? a.vert < b.vert
+                                        : a.isStart < b.isStart;
+              });
+  }
+}
+
 std::vector<Halfedge> PairUp(std::vector<EdgePos> &edgePos) {
   // Pair start vertices with end vertices to form edges. The choice of pairing
   // is arbitrary for the manifoldness guarantee, but must be ordered to be
@@ -448,14 +462,44 @@ void AppendWholeEdges(Manifold::Impl &outR, Vec<int> &facePtrR,
                       const Vec<int> &vP2R, VecView<const int> faceP2R,
                       bool forward) {
   ZoneScoped;
-  for_each_n(ManifoldParams().deterministic ? ExecutionPolicy::Seq
-                                            : autoPolicy(inP.halfedge_.size()),
+  for_each_n(autoPolicy(inP.halfedge_.size()),
              zip(wholeHalfedgeP.begin(), inP.halfedge_.begin(), countAt(0)),
              inP.halfedge_.size(),
              DuplicateHalfedges({outR.halfedge_, halfedgeRef, facePtrR,
                                  inP.halfedge_, i03, vP2R, faceP2R, forward}));
 }
 
+void SortWholeEdges(Manifold::Impl &outR, Vec<TriRef> &halfedgeRef,
+                    const Vec<int> &wholeStart, const Vec<int> &faceEdge) {
+  ZoneScoped;
+  // AppendWholeEdges claims slots with atomic counters, so in parallel the
+  // order of whole edges within each face depends on scheduling. Reorder them
+  // by startVert, which is unique within a face, and remap their pairs, which
+  // are always whole edges too.
+  const size_t numFace = faceEdge.size() - 1;
+  Vec<int> old2new(outR.halfedge_.size(), -1);
+  for_each_n(autoPolicy(numFace), countAt(0_z), numFace, [&](size_t face) {
+    const int start = wholeStart[face];
+    std::vector<int> order(faceEdge[face + 1] - start);
+    std::iota(order.begin(), order.end(), start);
+    std::sort(order.begin(), order.end(), [&](int a, int b) {
+      return outR.halfedge_[a].startVert < outR.halfedge_[b].startVert;
+    });
+    for (size_t i = 0; i < order.size(); ++i) old2new[order[i]] = start + i;
+  });
+
+  const Vec<Halfedge> halfedgeOld(outR.halfedge_);
+  const Vec<TriRef> refOld(halfedgeRef);
+  for_each_n(autoPolicy(numFace), countAt(0_z), numFace, [&](size_t face) {
+    for (int edge = wholeStart[face]; edge < faceEdge[face + 1]; ++edge) {
+      Halfedge halfedge = halfedgeOld[edge];
+      halfedge.pairedHalfedge = old2new[halfedge.pairedHalfedge];
+      outR.halfedge_[old2new[edge]] = halfedge;
+      halfedgeRef[old2new[edge]] = refOld[edge];
+    }
+  });
+}
+
 struct MapTriRef {
   VecView<const TriRef> triRefP;
   VecView<const TriRef> triRefQ;
@@ -744,6 +788,12 @@ Manifold::Impl Boolean3::Result(OpType op) const {
   AddNewEdgeVerts(edgesP, edgesNew, p1q2_, i12, v12R, inP_.halfedge_, true);
   AddNewEdgeVerts(edgesQ, edgesNew, p2q1_, i21, v21R, inQ_.halfedge_, false);
 
+  if (ManifoldParams().deterministic) {
+    SortEdgeVerts(edgesP);
+    SortEdgeVerts(edgesQ);
+    SortEdgeVerts(edgesNew);
+  }
+
   // Level 4
   Vec<int> faceEdge;
   Vec<int> facePQ2R;
@@ -768,11 +818,16 @@ Manifold::Impl Boolean3::Result(OpType op) const {
   AppendNewEdges(outR, facePtrR, edgesNew, halfedgeRef, facePQ2R,
                  inP_.NumTri());
 
+  // Whole edges fill the remainder of each face.
+  const Vec<int> wholeStart = facePtrR;
   AppendWholeEdges(outR, facePtrR, halfedgeRef, inP_, wholeHalfedgeP, i03, vP2R,
                    facePQ2R.cview(0, inP_.NumTri()), true);
   AppendWholeEdges(outR, facePtrR, halfedgeRef, inQ_, wholeHalfedgeQ, i30, vQ2R,
                    facePQ2R.cview(inP_.NumTri(), inQ_.NumTri()), false);
 
+  if (ManifoldParams().deterministic)
+    SortWholeEdges(outR, halfedgeRef, wholeStart, faceEdge);
+
 #ifdef MANIFOLD_DEBUG
   assemble.Stop();
   Timer triangulate;
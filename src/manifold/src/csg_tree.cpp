@@ -95,6 +95,25 @@ struct MeshCompare {
   }
 };
 
+uint32_t SpreadBits3(uint32_t v) {
+  v = 0xFF0000FFu & (v * 0x00010001u);
+  v = 0x0F00F00Fu & (v * 0x00000101u);
+  v = 0xC30C30C3u & (v * 0x00000011u);
+  v = 0x49249249u & (v * 0x00000005u);
+  return v;
+}
+
+uint32_t MortonCode(glm::vec3 position, Box bBox) {
+  glm::vec3 xyz = position - bBox.min;
+  const glm::vec3 size = bBox.Size();
+  for (int i : {0, 1, 2}) xyz[i] = size[i] > 0 ? xyz[i] / size[i] : 0;
+  xyz = glm::min(glm::vec3(1023.0f), glm::max(glm::vec3(0.0f), 1024.0f * xyz));
+  uint32_t x = SpreadBits3(static_cast<uint32_t>(xyz.x));
+  uint32_t y = SpreadBits3(static_cast<uint32_t>(xyz.y));
+  uint32_t z = SpreadBits3(static_cast<uint32_t>(xyz.z));
+  return x * 4 + y * 2 + z;
+}
+
 }  // namespace
 namespace manifold {
 
@@ -467,38 +486,74 @@ std::shared_ptr<Manifold::Impl> CsgOpNode::BatchBoolean(
     Boolean3 boolean(*results[0], *results[1], operation);
     return std::make_shared<Manifold::Impl>(boolean.Result(operation));
   }
-#if MANIFOLD_PAR == 'T' && __has_include(<tbb/tbb.h>)
-  if (!ManifoldParams().deterministic) {
-    tbb::task_group group;
-    tbb::concurrent_priority_queue<SharedImpl, MeshCompare> queue(
-        results.size());
-    for (auto result : results) {
-      queue.emplace(result);
+  if (ManifoldParams().deterministic) {
+    // The pairing must not depend on scheduling, so order the operands along
+    // a Morton curve, which keeps neighbors together, and reduce adjacent
+    // pairs one level at a time. Each level runs in parallel, but every
+    // Boolean gets the same operands in the same order on every run.
+    Box bBox;
+    for (const auto &result : results) {
+      if (!result->IsEmpty()) bBox = bBox.Union(result->bBox_);
     }
-    results.clear();
-    std::function<void()> process = [&]() {
-      while (queue.size() > 1) {
-        SharedImpl a, b;
-        if (!queue.try_pop(a)) continue;
-        if (!queue.try_pop(b)) {
-          queue.push(a);
-          continue;
-        }
-        group.run([&, a, b]() {
-          const Manifold::Impl *aImpl;
-          const Manifold::Impl *bImpl;
-          Boolean3 boolean(*getImplPtr(a), *getImplPtr(b), operation);
-          queue.emplace(
-              std::make_shared<Manifold::Impl>(boolean.Result(operation)));
-          return group.run(process);
-        });
-      }
-    };
-    group.run_and_wait(process);
-    SharedImpl r;
-    queue.try_pop(r);
-    return *std::get_if<std::shared_ptr<Manifold::Impl>>(&r);
+    std::vector<std::pair<uint32_t, size_t>> keys(results.size());
+    for (size_t i = 0; i < results.size(); ++i) {
+      keys[i] = {results[i]->IsEmpty()
+                     ? 0xFFFFFFFFu
+                     : MortonCode(results[i]->bBox_.Center(), bBox),
+                 i};
+    }
+    std::sort(keys.begin(), keys.end());
+    std::vector<std::shared_ptr<const Manifold::Impl>> level;
+    level.reserve(results.size());
+    for (const auto &key : keys) level.push_back(results[key.second]);
+
+    while (level.size() > 2) {
+      const size_t numPair = level.size() / 2;
+      std::vector<std::shared_ptr<const Manifold::Impl>> next(
+          (level.size() + 1) / 2);
+      if (level.size() % 2 == 1) next.back() = level.back();
+      for_each_n(ExecutionPolicy::Par, countAt(0_z), numPair,
+                 [&](size_t i) {
+                   Boolean3 boolean(*level[2 * i], *level[2 * i + 1],
+                                    operation);
+                   next[i] = std::make_shared<const Manifold::Impl>(
+                       boolean.Result(operation));
+                 });
+      level.swap(next);
+    }
+    Boolean3 boolean(*level[0], *level[1], operation);
+    return std::make_shared<Manifold::Impl>(boolean.Result(operation));
+  }
+#if MANIFOLD_PAR == 'T' && __has_include(<tbb/tbb.h>)
+  tbb::task_group group;
+  tbb::concurrent_priority_queue<SharedImpl, MeshCompare> queue(
+      results.size());
+  for (auto result : results) {
+    queue.emplace(result);
   }
+  results.clear();
+  std::function<void()> process = [&]() {
+    while (queue.size() > 1) {
+      SharedImpl a, b;
+      if (!queue.try_pop(a)) continue;
+      if (!queue.try_pop(b)) {
+        queue.push(a);
+        continue;
+      }
+      group.run([&, a, b]() {
+        const Manifold::Impl *aImpl;
+        const Manifold::Impl *bImpl;
+        Boolean3 boolean(*getImplPtr(a), *getImplPtr(b), operation);
+        queue.emplace(
+            std::make_shared<Manifold::Impl>(boolean.Result(operation)));
+        return group.run(process);
+      });
+    }
+  };
+  group.run_and_wait(process);
+  SharedImpl r;
+  queue.try_pop(r);
+  return *std::get_if<std::shared_ptr<Manifold::Impl>>(&r);
 #endif
   // apply boolean operations starting from smaller meshes
   // the assumption is that boolean operations on smaller meshes is faster,
@@ -606,9 +661,10 @@ std::vector<std::shared_ptr<CsgNode>> &CsgOpNode::GetChildren(
 
   if (forceToLeafNodes && !impl->forcedToLeafNodes_) {
     impl->forcedToLeafNodes_ = true;
-    for_each(impl->children_.size() > 1 && !ManifoldParams().deterministic
-                 ? ExecutionPolicy::Par
-                 : ExecutionPolicy::Seq,
+    // Children are independent, so this is deterministic as long as each
+    // child is.
+    for_each(impl->children_.size() > 1 ? ExecutionPolicy::Par
+                                        : ExecutionPolicy::Seq,
              impl->children_.begin(), impl->children_.end(), [](auto &child) {
                if (child->GetNodeType() != CsgNodeType::Leaf) {
                  child = child->ToLeafNode();
@@ -0,0 +1,205 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <algorithm>
+#include <limits>
+
+#include "impl.h"
+#include "par.h"
+
+namespace {
+using namespace manifold;
+
+/**
+ * Garland-Heckbert error quadric of the plane through point with this normal.
+ */
+glm::mat4 PlaneQuadric(glm::vec3 normal, glm::vec3 point) {
+  const glm::vec4 plane(normal, -glm::dot(normal, point));
+  return glm::outerProduct(plane, plane);
+}
+
+float QuadricError(const glm::mat4& quadric, glm::vec3 pos) {
+  const glm::vec4 v(pos, 1);
+  return glm::dot(v, quadric * v);
+}
+}  // namespace
+
+namespace manifold {
+
+/**
+ * Reduces the triangle count by quadric-error half-edge collapses until
+ * targetTris is reached or no collapse stays under maxError. Each round costs
+ * every edge in parallel, then greedily picks a set of collapses whose
+ * one-rings don't touch, so the collapses are independent of each other.
+ * Verts on a boundary between runs (meshID) or property seams are locked, so
+ * those boundaries are preserved exactly. Collapses that fail the link
+ * condition are skipped, so the genus never changes.
+ */
+void Manifold::Impl::Decimate(int targetTris, float maxError) {
+  ZoneScoped;
+  const int numVert = NumVert();
+  const int numEdge = halfedge_.size();
+  if (numEdge == 0 || NumTri() <= targetTris) return;
+
+  const Vec<TriRef>& triRef = meshRelation_.triRef;
+  const Vec<glm::ivec3>& triProp = meshRelation_.triProperties;
+  const bool hasProp = triProp.size() > 0;
+  const float maxCost = maxError * maxError;
+
+  Vec<int> vertHalfedge(numVert, -1);
+  for (int i = 0; i < numEdge; ++i) {
+    vertHalfedge[halfedge_[i].startVert] = i;
+  }
+
+  // Calls func on each halfedge leaving vert.
+  auto ForVert = [this, &vertHalfedge](int vert, auto func) {
+    const int first = vertHalfedge[vert];
+    int current = first;
+    do {
+      func(current);
+      current = NextHalfedge(halfedge_[current].pairedHalfedge);
+    } while (current != first);
+  };
+
+  Vec<glm::mat4> quadric(numVert, glm::mat4(0));
+  for_each_n(autoPolicy(numVert), countAt(0), numVert, [&](int vert) {
+    if (vertHalfedge[vert] < 0) return;
+    glm::mat4 q(0);
+    ForVert(vert, [&](int edge) {
+      q += PlaneQuadric(faceNormal_[edge / 3], vertPos_[vert]);
+    });
+    quadric[vert] = q;
+  });
+
+  Vec<uint8_t> locked(numVert);
+  Vec<float> cost(numEdge);
+  Vec<int> candidates;
+  Vec<uint8_t> blocked(numVert);
+  std::vector<int> scratchBuffer;
+  scratchBuffer.reserve(10);
+  std::vector<int> ring;
+
+  int numTri = NumTri();
+  while (numTri > targetTris) {
+    // Remaining halfedges and verts are stable within a round, since a vert is
+    // never touched by more than one collapse.
+    for (int i = 0; i < numEdge; ++i) {
+      if (halfedge_[i].pairedHalfedge >= 0)
+        vertHalfedge[halfedge_[i].startVert] = i;
+    }
+
+    for_each_n(autoPolicy(numVert), countAt(0), numVert, [&](int vert) {
+      locked[vert] = 1;
+      if (vertHalfedge[vert] < 0 || glm::isnan(vertPos_[vert].x)) return;
+      const int first = vertHalfedge[vert];
+      const int meshID = triRef[first / 3].meshID;
+      const int prop = hasProp ? triProp[first / 3][first % 3] : 0;
+      bool mixed = false;
+      ForVert(vert, [&](int edge) {
+        const int tri = edge / 3;
+        mixed |= triRef[tri].meshID != meshID;
+        if (hasProp) mixed |= triProp[tri][edge % 3] != prop;
+      });
+      locked[vert] = mixed;
+    });
+
+    for_each_n(autoPolicy(numEdge / 3), countAt(0), numEdge / 3, [&](int tri) {
+      if (halfedge_[3 * tri].pairedHalfedge < 0) return;
+      const glm::vec3 v0 = vertPos_[halfedge_[3 * tri].startVert];
+      const glm::vec3 v1 = vertPos_[halfedge_[3 * tri + 1].startVert];
+      const glm::vec3 v2 = vertPos_[halfedge_[3 * tri + 2].startVert];
+      const glm::vec3 normal = glm::cross(v1 - v0, v2 - v0);
+      if (glm::dot(normal, normal) > 0)
+        faceNormal_[tri] = glm::normalize(normal);
+    });
+
+    for_each_n(autoPolicy(numEdge), countAt(0), numEdge, [&](int edge) {
+      cost[edge] = std::numeric_limits<float>::infinity();
+      const Halfedge halfedge = halfedge_[edge];
+      if (halfedge.pairedHalfedge < 0 || locked[halfedge.startVert]) return;
+      // endVert must carry the same property vert on both sides of the edge,
+      // or the fan of startVert would be split across a seam.
+      if (hasProp && triProp[edge / 3][NextHalfedge(edge) % 3] !=
+                         triProp[halfedge.pairedHalfedge / 3]
+                                [halfedge.pairedHalfedge % 3])
+        return;
+      const float error =
+          QuadricError(quadric[halfedge.startVert] + quadric[halfedge.endVert],
+                       vertPos_[halfedge.endVert]);
+      if (error <= maxCost) cost[edge] = error;
+    });
+
+    candidates.resize(numEdge);
+    auto end = copy_if<decltype(candidates.begin())>(
+        autoPolicy(numEdge), countAt(0), countAt(numEdge), candidates.begin(),
+        [&cost, maxCost](int edge) { return cost[edge] <= maxCost; });
+    candidates.resize(end - candidates.begin());
+    if (candidates.size() == 0) break;
+    stable_sort(autoPolicy(candidates.size()), candidates.begin(),
+                candidates.end(),
+                [&cost](int a, int b) { return cost[a] < cost[b]; });
+
+    // Each collapse removes two triangles.
+    const int maxCollapse = (numTri - targetTris + 1) / 2;
+    int numCollapse = 0;
+    fill(autoPolicy(numVert), blocked.begin(), blocked.end(), 0);
+    for (const int edge : candidates) {
+      if (numCollapse >= maxCollapse) break;
+      const int startVert = halfedge_[edge].startVert;
+      const int endVert = halfedge_[edge].endVert;
+      if (blocked[startVert] || blocked[endVert]) continue;
+      bool independent = true;
+      auto CheckRing = [&](int e) {
+        independent &= !blocked[halfedge_[e].endVert];
+      };
+      ForVert(startVert, CheckRing);
+      ForVert(endVert, CheckRing);
+      if (!independent) continue;
+
+      // Link condition: the one-rings may share only the two wing verts.
+      // Otherwise CollapseEdge would split verts to avoid a pinch, changing
+      // the topology and growing vertPos_ past the per-vert arrays here.
+      ring.clear();
+      ForVert(startVert, [&](int e) { ring.push_back(halfedge_[e].endVert); });
+      int shared = 0;
+      ForVert(endVert, [&](int e) {
+        shared += std::count(ring.begin(), ring.end(), halfedge_[e].endVert);
+      });
+      if (shared != 2) continue;
+
+      auto BlockRing = [&](int e) { blocked[halfedge_[e].endVert] = 1; };
+      ForVert(startVert, BlockRing);
+      ForVert(endVert, BlockRing);
+
+      const glm::mat4 merged = quadric[startVert] + quadric[endVert];
+      CollapseEdge(edge, scratchBuffer, true);
+      scratchBuffer.resize(0);
+      if (halfedge_[edge].pairedHalfedge < 0) {
+        quadric[endVert] = merged;
+        ++numCollapse;
+      }
+    }
+    if (numCollapse == 0) break;
+    // Folds removed during collapse can take extra triangles with them.
+    numTri = count_if(autoPolicy(numEdge), halfedge_.begin(), halfedge_.end(),
+                      [](Halfedge h) { return h.pairedHalfedge >= 0; }) /
+             3;
+  }
+
+  // Tangents no longer match the coarser mesh.
+  halfedgeTangent_.resize(0);
+  faceNormal_.resize(0);
+  Finish();
+}
+}  // namespace manifold
@@ -438,7 +438,8 @@ void Manifold::Impl::RemoveIfFolded(int edge) {
 // topologically if the collapse would have resulted in a 4-manifold edge. Do
 // not collapse an edge if startVert is pinched - the vert will be marked NaN,
 // but other edges may still be pointing to it.
-void Manifold::Impl::CollapseEdge(const int edge, std::vector<int>& edges) {
+void Manifold::Impl::CollapseEdge(const int edge, std::vector<int>& edges,
+                                  bool decimate) {
   Vec<TriRef>& triRef = meshRelation_.triRef;
   Vec<glm::ivec3>& triProp = meshRelation_.triProperties;
 
@@ -475,8 +476,9 @@ void Manifold::Impl::CollapseEdge(const int edge, std::vector<int>& edges) {
       const TriRef ref = triRef[tri];
       const glm::mat3x2 projection = GetAxisAlignedProjection(faceNormal_[tri]);
       // Don't collapse if the edge is not redundant (this may have changed due
-      // to the collapse of neighbors).
-      if (!ref.SameFace(refCheck)) {
+      // to the collapse of neighbors). Decimation collapses non-redundant
+      // edges on purpose, so it only checks for inversion.
+      if (!decimate && !ref.SameFace(refCheck)) {
         refCheck = triRef[edge / 3];
         if (!ref.SameFace(refCheck)) {
           return;
@@ -494,6 +496,12 @@ void Manifold::Impl::CollapseEdge(const int edge, std::vector<int>& edges) {
               precision_) < 0)
         return;
 
+      // The axis-aligned projection can miss a flip on a curved surface.
+      if (decimate &&
+          glm::dot(glm::cross(pNew - pLast, pNext - pLast), faceNormal_[tri]) <=
+              0)
+        return;
+
       pLast = pNext;
       current = halfedge_[current].pairedHalfedge;
     }
@@ -516,7 +524,7 @@ void Manifold::Impl::CollapseEdge(const int edge, std::vector<int>& edges) {
       // Update the shifted triangles to the vertBary of endVert
       const int tri = current / 3;
       const int vIdx = current - 3 * tri;
-      if (triRef[tri].SameFace(triRef[tri0])) {
+      if (decimate || triRef[tri].SameFace(triRef[tri0])) {
         triProp[tri][vIdx] = triProp[tri0][triVert0];
       } else if (triRef[tri].SameFace(triRef[tri1])) {
         triProp[tri][vIdx] = triProp[tri1][triVert1];
@@ -14,6 +14,7 @@
 
 #pragma once
 #include <map>
+#include <mutex>
 
 #include "collider.h"
 #include "manifold.h"
@@ -54,6 +55,21 @@ struct Manifold::Impl {
   MeshRelationD meshRelation_;
   Collider collider_;
 
+  /// Decimated levels of detail, built on demand by Manifold::LODs. Copies
+  /// start empty, since a copied Impl is generally about to be modified.
+  struct LodCache {
+    LodCache() {}
+    LodCache(const LodCache&) {}
+    LodCache& operator=(const LodCache&) {
+      levels.clear();
+      return *this;
+    }
+    std::mutex mutex;
+    float ratio = 0;
+    std::vector<std::shared_ptr<const Impl>> levels;
+  };
+  mutable LodCache lodCache_;
+
   static std::atomic<uint32_t> meshIDCounter_;
   static uint32_t ReserveIDs(uint32_t);
 
@@ -127,6 +143,13 @@ struct Manifold::Impl {
   bool MatchesTriNormals() const;
   int NumDegenerateTris() const;
 
+  // query.cpp
+  RayHit RayCast(glm::vec3 origin, glm::vec3 direction) const;
+  SurfacePoint ClosestPoint(glm::vec3 point) const;
+  bool Contains(glm::vec3 point) const;
+  bool EdgesCross(const Impl& Q) const;
+  bool Interferes(const Impl& Q) const;
+
   // sort.cu
   void Finish();
   void SortVerts();
@@ -149,7 +172,7 @@ struct Manifold::Impl {
   // edge_op.cu
   void SimplifyTopology();
   void DedupeEdge(int edge);
-  void CollapseEdge(int edge, std::vector<int>& edges);
+  void CollapseEdge(int edge, std::vector<int>& edges, bool decimate = false);
   void RecursiveEdgeSwap(int edge, int& tag, std::vector<int>& visited,
                          std::vector<int>& edgeSwapStack,
                          std::vector<int>& edges);
@@ -160,6 +183,9 @@ struct Manifold::Impl {
   void CollapseTri(const glm::ivec3& triEdge);
   void SplitPinchedVerts();
 
+  // decimate.cpp
+  void Decimate(int targetTris, float maxError);
+
   // smoothing.cu
   glm::vec3 GetNormal(int halfedge, int normalIdx) const;
   std::vector<Smoothness> UpdateSharpenedEdges(
@@ -13,14 +13,17 @@
 // limitations under the License.
 
 #include <algorithm>
+#include <limits>
 #include <map>
 #include <numeric>
+#include <stdexcept>
 
 #include "QuickHull.hpp"
 #include "boolean3.h"
 #include "csg_tree.h"
 #include "impl.h"
 #include "par.h"
+#include "sdf.h"
 
 namespace {
 using namespace manifold;
@@ -473,6 +476,131 @@ int Manifold::NumDegenerateTris() const {
   return GetCsgLeafNode().GetImpl()->NumDegenerateTris();
 }
 
+/**
+ * Casts a batch of rays against the surface and returns the first hit along
+ * each. Triangle indices match the order of GetMesh().
+ *
+ * @param origins The start point of each ray.
+ * @param directions The direction of each ray; need not be normalized, in
+ * which case hit distances are in multiples of its length.
+ */
+std::vector<RayHit> Manifold::RayCast(
+    const std::vector<glm::vec3>& origins,
+    const std::vector<glm::vec3>& directions) const {
+  if (origins.size() != directions.size()) {
+    throw std::invalid_argument(
+        "Must have the same number of ray origins and directions.");
+  }
+  auto pImpl = GetCsgLeafNode().GetImpl();
+  std::vector<RayHit> hits(origins.size());
+  for_each_n(autoPolicy(origins.size()), countAt(0_z), origins.size(),
+             [&](size_t i) {
+               hits[i] = pImpl->RayCast(origins[i], directions[i]);
+             });
+  return hits;
+}
+
+/**
+ * Finds the nearest surface point to each query point, along with the signed
+ * distance to it (negative inside).
+ *
+ * @param points The query points.
+ */
+std::vector<SurfacePoint> Manifold::ClosestPoints(
+    const std::vector<glm::vec3>& points) const {
+  auto pImpl = GetCsgLeafNode().GetImpl();
+  std::vector<SurfacePoint> result(points.size());
+  for_each_n(autoPolicy(points.size()), countAt(0_z), points.size(),
+             [&](size_t i) { result[i] = pImpl->ClosestPoint(points[i]); });
+  return result;
+}
+
+/**
+ * Classifies each point as inside (1) or outside (0) the manifold. Points on
+ * the surface count as outside. Uses the sign of the distance to the closest
+ * surface feature, which is robust to rays grazing edges and vertices.
+ *
+ * @param points The query points.
+ */
+std::vector<uint8_t> Manifold::Contains(
+    const std::vector<glm::vec3>& points) const {
+  auto pImpl = GetCsgLeafNode().GetImpl();
+  std::vector<uint8_t> inside(points.size());
+  for_each_n(autoPolicy(points.size()), countAt(0_z), points.size(),
+             [&](size_t i) { inside[i] = pImpl->Contains(points[i]); });
+  return inside;
+}
+
+/**
+ * Samples the signed distance to the surface on a regular grid, positive
+ * inside and negative outside, which is the convention of LevelSet. The grid
+ * has gridSize + 1 points along each axis spanning bounds, ordered with x
+ * varying fastest, then y, then z. Each sample is an exact closest-point query
+ * against the collider, and they run in parallel.
+ *
+ * @param bounds The extent of the grid.
+ * @param gridSize The number of grid cells along each axis.
+ */
+std::vector<float> Manifold::SampleSDF(Box bounds, glm::ivec3 gridSize) const {
+  if (glm::any(glm::lessThan(gridSize, glm::ivec3(1)))) {
+    throw std::invalid_argument("Grid size must be positive on every axis.");
+  }
+  auto pImpl = GetCsgLeafNode().GetImpl();
+  const glm::ivec3 numPoint = gridSize + 1;
+  const glm::vec3 spacing = bounds.Size() / glm::vec3(gridSize);
+  std::vector<float> sdf(static_cast<size_t>(numPoint.x) * numPoint.y *
+                         numPoint.z);
+  for_each_n(autoPolicy(sdf.size()), countAt(0_z), sdf.size(), [&](size_t i) {
+    const glm::vec3 index(i % numPoint.x, (i / numPoint.x) % numPoint.y,
+                          i / numPoint.x / numPoint.y);
+    sdf[i] = -pImpl->ClosestPoint(bounds.min + spacing * index).signedDistance;
+  });
+  return sdf;
+}
+
+/**
+ * Grows the manifold by delta in every direction, or shrinks it if delta is
+ * negative, rounding off the corners that move outward. The result is meshed
+ * by LevelSet from the exact signed distance, which is only evaluated in a
+ * narrow band around the new surface, so the cost scales with surface area.
+ * It is a new original: properties and relations to the input are not kept,
+ * and sharp features are only resolved to about edgeLength.
+ *
+ * @param delta The offset distance.
+ * @param edgeLength Approximate maximum edge length of the result. This sets
+ * the grid spacing, and hence dominates the cost.
+ */
+Manifold Manifold::Offset(float delta, float edgeLength) const {
+  if (edgeLength <= 0) {
+    throw std::invalid_argument("Edge length must be positive.");
+  }
+  auto pImpl = GetCsgLeafNode().GetImpl();
+  if (pImpl->IsEmpty()) return Manifold();
+  // LevelSet closes the surface off at its bounds, so leave room outside.
+  const float pad = glm::max(delta, 0.0f) + 2 * edgeLength;
+  const Box bounds(pImpl->bBox_.min - pad, pImpl->bBox_.max + pad);
+  auto sdf = [pImpl](glm::vec3 p) {
+    return -pImpl->ClosestPoint(p).signedDistance;
+  };
+  // A distance function is 1-Lipschitz, which enables sparse evaluation.
+  return Manifold(LevelSet(sdf, bounds, edgeLength, -delta, true, 1));
+}
+
+/**
+ * Hollows the manifold, leaving a wall of the given thickness inside its
+ * surface. The outer surface is kept exactly; the cavity is
+ * Offset(-thickness, edgeLength).
+ *
+ * @param thickness The wall thickness.
+ * @param edgeLength Approximate maximum edge length of the cavity.
+ */
+Manifold Manifold::Shell(float thickness, float edgeLength) const {
+  if (thickness <= 0) {
+    throw std::invalid_argument("Shell thickness must be positive.");
+  }
+  return *this - Offset(-thickness, edgeLength);
+}
+
 /**
  * This is a checksum-style verification of the collider, simply returning the
  * total number of edge-face bounding box overlaps between this and other.
@@ -754,6 +882,73 @@ Manifold Manifold::RefineToLength(float length) const {
   return Manifold(std::make_shared<CsgLeafNode>(pImpl));
 }
 
+/**
+ * Reduce the density of the mesh by collapsing edges in order of least
+ * geometric error, until the triangle count reaches targetTris or no remaining
+ * collapse would move the surface by more than maxError. The result is still
+ * manifold, and boundaries between the input runs (runOriginalID) and between
+ * distinct property verts are left untouched.
+ *
+ * @param targetTris The triangle count to stop at.
+ * @param maxError The largest allowed distance from the original surface.
+ */
+Manifold Manifold::Decimate(int targetTris, float maxError) const {
+  auto pImpl = std::make_shared<Impl>(*GetCsgLeafNode().GetImpl());
+  if (!IsEmpty() && maxError > 0) {
+    pImpl->Decimate(targetTris, maxError);
+  }
+  return Manifold(std::make_shared<CsgLeafNode>(pImpl));
+}
+
+/**
+ * Returns a level-of-detail chain, where the first level is this Manifold and
+ * each following level is decimated from the one before it to roughly ratio
+ * times its triangle count. Levels are cached with this Manifold, so asking
+ * again for the same ratio only builds levels that don't exist yet.
+ *
+ * @param levels The number of levels to return, including this one.
+ * @param ratio Triangle count of each level relative to the previous one, in
+ * (0, 1). Outside that range every level is this Manifold.
+ */
+std::vector<Manifold> Manifold::LODs(int levels, float ratio) const {
+  std::vector<Manifold> lods;
+  if (levels <= 0) return lods;
+  lods.push_back(*this);
+  if (IsEmpty() || !(ratio > 0 && ratio < 1)) {
+    lods.resize(levels, *this);
+    return lods;
+  }
+
+  std::shared_ptr<const Impl> pImpl = GetCsgLeafNode().GetImpl();
+  Impl::LodCache& cache = pImpl->lodCache_;
+  std::lock_guard<std::mutex> lock(cache.mutex);
+  if (cache.ratio != ratio) {
+    cache.levels.clear();
+    cache.ratio = ratio;
+  }
+  while (static_cast<int>(cache.levels.size()) < levels - 1) {
+    const Impl& prev = cache.levels.empty() ? *pImpl : *cache.levels.back();
+    auto next = std::make_shared<Impl>(prev);
+    next->Decimate(ratio * prev.NumTri(),
+                   std::numeric_limits<float>::infinity());
+    cache.levels.push_back(next);
+  }
+  for (int i = 0; i < levels - 1; ++i) {
+    lods.push_back(Manifold(std::make_shared<CsgLeafNode>(cache.levels[i])));
+  }
+  return lods;
+}
+
+/**
+ * The number of decimated levels LODs() has cached with this Manifold, which
+ * are shared by every Manifold it returned them as.
+ */
+int Manifold::NumCachedLODs() const {
+  Impl::LodCache& cache = GetCsgLeafNode().GetImpl()->lodCache_;
+  std::lock_guard<std::mutex> lock(cache.mutex);
+  return static_cast<int>(cache.levels.size());
+}
+
 /**
  * The central operation of this library: the Boolean combines two manifolds
  * into another by calculating their intersections and removing the unused
@@ -788,6 +983,27 @@ Manifold Manifold::BatchBoolean(const std::vector<Manifold>& manifolds,
   return Manifold(std::make_shared<CsgOpNode>(children, op));
 }
 
+/**
+ * Evaluates many independent Manifolds, e.g. separate parts, in one call.
+ * Operations are lazy, so this forces each pending CSG tree, all in one
+ * parallel loop: the jobs share a work-stealing scheduler, so many small ones
+ * don't each pay their own scheduling overhead and a large one doesn't leave
+ * threads idle.
+ *
+ * @param manifolds The Manifolds to evaluate.
+ * @return The evaluated Manifolds, in the same order.
+ */
+std::vector<Manifold> Manifold::EvaluateAll(
+    const std::vector<Manifold>& manifolds) {
+  std::vector<Manifold> results(manifolds);
+  for_each(results.size() > 1 && !ManifoldParams().deterministic
+               ? ExecutionPolicy::Par
+               : ExecutionPolicy::Seq,
+           results.begin(), results.end(),
+           [](Manifold& manifold) { manifold.GetCsgLeafNode(); });
+  return results;
+}
+
 /**
  * Shorthand for Boolean Union.
  */
@@ -0,0 +1,205 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <limits>
+
+#include "impl.h"
+#include "par.h"
+
+namespace {
+using namespace manifold;
+
+/**
+ * Two-sided Möller–Trumbore ray-triangle test. On a hit, returns true with the
+ * ray parameter t and the barycentric weights of v1 and v2 in uv.
+ */
+bool RayTriangle(glm::vec3 origin, glm::vec3 dir, glm::vec3 v0, glm::vec3 v1,
+                 glm::vec3 v2, float& t, glm::vec2& uv) {
+  const glm::vec3 e1 = v1 - v0;
+  const glm::vec3 e2 = v2 - v0;
+  const glm::vec3 p = glm::cross(dir, e2);
+  const float det = glm::dot(e1, p);
+  if (det == 0) return false;
+  const float invDet = 1 / det;
+  const glm::vec3 s = origin - v0;
+  uv.x = glm::dot(s, p) * invDet;
+  if (uv.x < 0 || uv.x > 1) return false;
+  const glm::vec3 q = glm::cross(s, e1);
+  uv.y = glm::dot(dir, q) * invDet;
+  if (uv.y < 0 || uv.x + uv.y > 1) return false;
+  t = glm::dot(e2, q) * invDet;
+  return t >= 0;
+}
+
+/**
+ * Closest point to p on triangle abc, from Ericson's Real-Time Collision
+ * Detection. feature is set to the vertex (0-2), edge (3-5, edge i runs from
+ * vertex i to i + 1) or face (6) that the point lies on, which determines the
+ * pseudo-normal used for its sign.
+ */
+glm::vec3 ClosestOnTriangle(glm::vec3 p, glm::vec3 a, glm::vec3 b,
+                            glm::vec3 c, int& feature) {
+  const glm::vec3 ab = b - a;
+  const glm::vec3 ac = c - a;
+  const glm::vec3 ap = p - a;
+  const float d1 = glm::dot(ab, ap);
+  const float d2 = glm::dot(ac, ap);
+  if (d1 <= 0 && d2 <= 0) {
+    feature = 0;
+    return a;
+  }
+  const glm::vec3 bp = p - b;
+  const float d3 = glm::dot(ab, bp);
+  const float d4 = glm::dot(ac, bp);
+  if (d3 >= 0 && d4 <= d3) {
+    feature = 1;
+    return b;
+  }
+  const float vc = d1 * d4 - d3 * d2;
+  if (vc <= 0 && d1 >= 0 && d3 <= 0) {
+    feature = 3;
+    return a + ab * (d1 / (d1 - d3));
+  }
+  const glm::vec3 cp = p - c;
+  const float d5 = glm::dot(ab, cp);
+  const float d6 = glm::dot(ac, cp);
+  if (d6 >= 0 && d5 <= d6) {
+    feature = 2;
+    return c;
+  }
+  const float vb = d5 * d2 - d1 * d6;
+  if (vb <= 0 && d2 >= 0 && d6 <= 0) {
+    feature = 5;
+    return a + ac * (d2 / (d2 - d6));
+  }
+  const float va = d3 * d6 - d5 * d4;
+  if (va <= 0 && d4 - d3 >= 0 && d5 - d6 >= 0) {
+    feature = 4;
+    return b + (c - b) * ((d4 - d3) / ((d4 - d3) + (d5 - d6)));
+  }
+  feature = 6;
+  const float denom = 1 / (va + vb + vc);
+  return a + ab * (vb * denom) + ac * (vc * denom);
+}
+}  // namespace
+
+namespace manifold {
+
+/**
+ * Returns the first triangle hit by the ray origin + t * direction, t >= 0.
+ */
+RayHit Manifold::Impl::RayCast(glm::vec3 origin, glm::vec3 direction) const {
+  RayHit hit;
+  collider_.RayCast(origin, direction, hit.distance,
+                    [&](int tri, float& tMax) {
+                      float t;
+                      glm::vec2 uv;
+                      if (RayTriangle(origin, direction,
+                                      vertPos_[halfedge_[3 * tri].startVert],
+                                      vertPos_[halfedge_[3 * tri + 1].startVert],
+                                      vertPos_[halfedge_[3 * tri + 2].startVert],
+                                      t, uv) &&
+                          t < tMax) {
+                        tMax = t;
+                        hit.tri = tri;
+                        hit.barycentric = glm::vec3(1 - uv.x - uv.y, uv.x, uv.y);
+                      }
+                    });
+  return hit;
+}
+
+/**
+ * Returns the nearest surface point to point. The sign of the distance comes
+ * from the angle-weighted pseudo-normal of the closest feature (face, edge or
+ * vertex), which is robust for closed manifolds.
+ */
+SurfacePoint Manifold::Impl::ClosestPoint(glm::vec3 point) const {
+  SurfacePoint result;
+  float dist2 = std::numeric_limits<float>::infinity();
+  int bestFeature = 6;
+  collider_.Nearest(point, dist2, [&](int tri, float& maxDist2) {
+    int feature;
+    const glm::vec3 closest =
+        ClosestOnTriangle(point, vertPos_[halfedge_[3 * tri].startVert],
+                          vertPos_[halfedge_[3 * tri + 1].startVert],
+                          vertPos_[halfedge_[3 * tri + 2].startVert], feature);
+    const glm::vec3 diff = point - closest;
+    const float d2 = glm::dot(diff, diff);
+    if (d2 < maxDist2) {
+      maxDist2 = d2;
+      result.position = closest;
+      result.tri = tri;
+      bestFeature = feature;
+    }
+  });
+  if (result.tri < 0) return result;
+
+  glm::vec3 pseudoNormal;
+  if (bestFeature < 3) {
+    pseudoNormal =
+        vertNormal_[halfedge_[3 * result.tri + bestFeature].startVert];
+  } else if (bestFeature < 6) {
+    const Halfedge& edge = halfedge_[3 * result.tri + bestFeature - 3];
+    pseudoNormal =
+        faceNormal_[result.tri] + faceNormal_[edge.pairedHalfedge / 3];
+  } else {
+    pseudoNormal = faceNormal_[result.tri];
+  }
+  const float dist = glm::sqrt(dist2);
+  result.signedDistance =
+      glm::dot(point - result.position, pseudoNormal) < 0 ? -dist : dist;
+  return result;
+}
+
+/**
+ * Returns true if point is strictly inside the manifold. Points outside the
+ * bounding box are rejected without touching the collider.
+ */
+bool Manifold::Impl::Contains(glm::vec3 point) const {
+  if (!bBox_.Contains(point)) return false;
+  return ClosestPoint(point).signedDistance < 0;
+}
+
+/**
+ * Returns true if any edge of Q crosses a face of this manifold.
+ */
+bool Manifold::Impl::EdgesCross(const Impl& Q) const {
+  SparseIndices edgeTri = EdgeCollisions(Q);
+  for (size_t i = 0; i < edgeTri.size(); ++i) {
+    const Halfedge& edge = Q.halfedge_[edgeTri.Get(i, false)];
+    const int tri = edgeTri.Get(i, true);
+    const glm::vec3 start = Q.vertPos_[edge.startVert];
+    float t;
+    glm::vec2 uv;
+    if (RayTriangle(start, Q.vertPos_[edge.endVert] - start,
+                    vertPos_[halfedge_[3 * tri].startVert],
+                    vertPos_[halfedge_[3 * tri + 1].startVert],
+                    vertPos_[halfedge_[3 * tri + 2].startVert], t, uv) &&
+        t <= 1)
+      return true;
+  }
+  return false;
+}
+
+/**
+ * Returns true if the volumes of this and Q overlap: either their surfaces
+ * cross, or one lies entirely inside the other. The tests are inclusive, so
+ * surfaces that merely touch also count.
+ */
+bool Manifold::Impl::Interferes(const Impl& Q) const {
+  if (IsEmpty() || Q.IsEmpty() || !bBox_.DoesOverlap(Q.bBox_)) return false;
+  if (EdgesCross(Q) || Q.EdgesCross(*this)) return true;
+  return Contains(Q.vertPos_[0]) || Q.Contains(vertPos_[0]);
+}
+}  // namespace manifold
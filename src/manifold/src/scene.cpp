@@ -0,0 +1,200 @@
+// Copyright 2024 The Manifold Authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include <algorithm>
+#include <mutex>
+#include <stdexcept>
+
+#include "collider.h"
+#include "csg_tree.h"
+#include "impl.h"
+#include "par.h"
+
+namespace {
+using namespace manifold;
+
+uint32_t SpreadBits3(uint32_t v) {
+  v = 0xFF0000FFu & (v * 0x00010001u);
+  v = 0x0F00F00Fu & (v * 0x00000101u);
+  v = 0xC30C30C3u & (v * 0x00000011u);
+  v = 0x49249249u & (v * 0x00000005u);
+  return v;
+}
+
+uint32_t MortonCode(glm::vec3 position, Box bBox) {
+  glm::vec3 xyz = (position - bBox.min) / (bBox.max - bBox.min);
+  xyz = glm::min(glm::vec3(1023.0f), glm::max(glm::vec3(0.0f), 1024.0f * xyz));
+  uint32_t x = SpreadBits3(static_cast<uint32_t>(xyz.x));
+  uint32_t y = SpreadBits3(static_cast<uint32_t>(xyz.y));
+  uint32_t z = SpreadBits3(static_cast<uint32_t>(xyz.z));
+  return x * 4 + y * 2 + z;
+}
+}  // namespace
+
+namespace manifold {
+
+struct Scene::Impl {
+  std::vector<Manifold> parts_;
+  // Evaluated up front so that overlap tests never trigger lazy CSG
+  // evaluation from multiple threads.
+  std::vector<std::shared_ptr<const Manifold::Impl>> impls_;
+  // Leaves of the collider are the part boxes in Morton order.
+  Vec<Box> leafBox_;
+  std::vector<int> leaf2part_;
+  std::vector<int> part2leaf_;
+  Collider collider_;
+  int numMoved_ = 0;
+  bool needsRefit_ = false;
+  // Overlaps is const but refits or rebuilds the hierarchy on demand, so
+  // concurrent queries serialize that and their reads of the hierarchy.
+  std::mutex mutex_;
+
+  void Build() {
+    ZoneScoped;
+    const int n = parts_.size();
+    numMoved_ = 0;
+    needsRefit_ = false;
+    Box sceneBox;
+    for (const auto& impl : impls_) {
+      if (!impl->IsEmpty()) sceneBox.Union(impl->bBox_);
+    }
+    Vec<uint32_t> morton(n);
+    leaf2part_.resize(n);
+    for_each_n(autoPolicy(n), countAt(0), n, [&](int i) {
+      morton[i] = impls_[i]->IsEmpty()
+                      ? 0
+                      : MortonCode(impls_[i]->bBox_.Center(), sceneBox);
+      leaf2part_[i] = i;
+    });
+    stable_sort(autoPolicy(n), leaf2part_.begin(), leaf2part_.end(),
+                [&](int a, int b) { return morton[a] < morton[b]; });
+
+    Vec<uint32_t> leafMorton(n);
+    leafBox_.resize(n);
+    part2leaf_.resize(n);
+    for (int leaf = 0; leaf < n; ++leaf) {
+      const int part = leaf2part_[leaf];
+      leafMorton[leaf] = morton[part];
+      leafBox_[leaf] = impls_[part]->bBox_;
+      part2leaf_[part] = leaf;
+    }
+    collider_ = n < 2 ? Collider() : Collider(leafBox_, leafMorton);
+  }
+
+  void Update() {
+    // Refitting keeps queries correct but loosens the hierarchy, so rebuild
+    // once a sizable fraction of the parts have moved.
+    if (4 * numMoved_ > static_cast<int>(parts_.size())) {
+      Build();
+    } else if (needsRefit_) {
+      collider_.UpdateBoxes(leafBox_);
+      needsRefit_ = false;
+    }
+  }
+};
+
+/**
+ * Builds a scene over the given parts, whose indices are used to report
+ * overlaps.
+ */
+Scene::Scene(const std::vector<Manifold>& parts)
+    : impl_(std::make_unique<Impl>()) {
+  impl_->parts_ = parts;
+  impl_->impls_.reserve(parts.size());
+  for (const auto& part : parts) {
+    impl_->impls_.push_back(part.GetCsgLeafNode().GetImpl());
+  }
+  impl_->Build();
+}
+
+Scene::~Scene() = default;
+Scene::Scene(Scene&&) noexcept = default;
+Scene& Scene::operator=(Scene&&) noexcept = default;
+
+int Scene::NumParts() const { return impl_->parts_.size(); }
+
+Manifold Scene::GetPart(int i) const { return impl_->parts_.at(i); }
+
+/**
+ * Replaces part i, e.g. after it moves. Only its leaf box changes; the
+ * hierarchy is refit at the next query.
+ */
+void Scene::SetPart(int i, const Manifold& part) {
+  if (i < 0 || i >= NumParts()) throw std::out_of_range("part out of range");
+  impl_->parts_[i] = part;
+  impl_->impls_[i] = part.GetCsgLeafNode().GetImpl();
+  impl_->leafBox_[impl_->part2leaf_[i]] = impl_->impls_[i]->bBox_;
+  impl_->numMoved_++;
+  impl_->needsRefit_ = true;
+}
+
+/**
+ * Moves part i by the given transform, relative to its current placement.
+ */
+void Scene::TransformPart(int i, const glm::mat4x3& transform) {
+  SetPart(i, GetPart(i).Transform(transform));
+}
+
+/**
+ * Returns the pairs of parts (i < j) that interfere. Candidates come from
+ * overlapping bounding boxes in the scene hierarchy; if exact is set, each is
+ * then confirmed in parallel against the parts' own colliders, keeping pairs
+ * whose surfaces cross or meet, or where one part lies inside the other.
+ * Touching counts: parts that only share a face, edge or vertex, with no
+ * volume in common, are still reported.
+ *
+ * Overlaps may be called from several threads at once, but not concurrently
+ * with SetPart or TransformPart.
+ *
+ * @param exact Whether to confirm bounding box overlaps against the meshes.
+ */
+std::vector<std::pair<int, int>> Scene::Overlaps(bool exact) const {
+  ZoneScoped;
+  if (NumParts() < 2) return {};
+
+  std::vector<std::pair<int, int>> candidates;
+  {
+    std::lock_guard<std::mutex> lock(impl_->mutex_);
+    impl_->Update();
+    SparseIndices leafPairs =
+        impl_->collider_.Collisions<true>(impl_->leafBox_.cview());
+    for (size_t i = 0; i < leafPairs.size(); ++i) {
+      const int a = leafPairs.Get(i, false);
+      const int b = leafPairs.Get(i, true);
+      // each overlap is reported in both directions
+      if (a > b) continue;
+      const int partA = impl_->leaf2part_[a];
+      const int partB = impl_->leaf2part_[b];
+      candidates.push_back(std::make_pair(glm::min(partA, partB),
+                                          glm::max(partA, partB)));
+    }
+  }
+  std::sort(candidates.begin(), candidates.end());
+  if (!exact) return candidates;
+
+  std::vector<char> keep(candidates.size());
+  const ExecutionPolicy policy =
+      candidates.size() > 1 ? ExecutionPolicy::Par : ExecutionPolicy::Seq;
+  for_each_n(policy, countAt(0_z), candidates.size(), [&](size_t i) {
+    keep[i] = impl_->impls_[candidates[i].first]->Interferes(
+        *impl_->impls_[candidates[i].second]);
+  });
+  std::vector<std::pair<int, int>> overlaps;
+  for (size_t i = 0; i < candidates.size(); ++i) {
+    if (keep[i]) overlaps.push_back(candidates[i]);
+  }
+  return overlaps;
+}
+
+}  // namespace manifold
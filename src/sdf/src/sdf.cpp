@@ -187,6 +187,73 @@ struct ComputeVerts {
   }
 };
 
+// Sparse evaluation works in cubic blocks of 2^kBlockBits grid cells on a
+// side, each of which covers a contiguous range of Morton codes.
+constexpr int kBlockBits = 3;
+
+struct CheckBlock {
+  const std::function<float(glm::vec3)> sdf;
+  const glm::vec3 origin;
+  const glm::ivec3 gridSize;
+  const glm::vec3 spacing;
+  const float level;
+  const float lipschitz;
+
+  // Returns false only if no edge evaluated by ComputeVerts for a grid vert
+  // in this block can cross the level.
+  bool operator()(Uint64 block, int bits) const {
+    const glm::ivec3 base(DecodeMorton(block << (3 * bits + 1)));
+    if (glm::any(glm::greaterThan(base, gridSize))) return false;
+
+    // The block's grid verts and the neighbors their edges reach span
+    // [base - 1, base + size] in grid units.
+    const int size = 1 << bits;
+    const glm::vec3 center =
+        origin + spacing * (glm::vec3(base) + 0.5f * (size - 1));
+    const float radius = glm::length(spacing * (0.5f * (size + 1)));
+    const float d = sdf(center) - level;
+    if (glm::abs(d) <= lipschitz * radius) return true;
+
+    // BoundedSDF forces the grid boundary outside, so an inside block that
+    // reaches the boundary still has surface there.
+    const bool onBound =
+        glm::any(glm::lessThanEqual(base - 1, glm::ivec3(0))) ||
+        glm::any(glm::greaterThanEqual(base + size, gridSize - 1));
+    return d > 0 && onBound;
+  }
+};
+
+// Refines from a few coarse blocks down to blocks of 2^kBlockBits, keeping
+// only those that may contain the level, and returns them in Morton order.
+Vec<Uint64> ActiveBlocks(const CheckBlock& check, Uint64 maxMorton,
+                         bool canParallel) {
+  ZoneScoped;
+  int bits = kBlockBits;
+  while (bits < 20 && (maxMorton >> (3 * bits + 1)) >= 64) ++bits;
+
+  Vec<Uint64> blocks((maxMorton >> (3 * bits + 1)) + 1);
+  sequence(ExecutionPolicy::Seq, blocks.begin(), blocks.end());
+  while (1) {
+    const auto pol =
+        canParallel ? autoPolicy(blocks.size()) : ExecutionPolicy::Seq;
+    Vec<char> keep(blocks.size());
+    for_each_n(pol, countAt(0_z), blocks.size(),
+               [&](size_t i) { keep[i] = check(blocks[i], bits); });
+
+    Vec<Uint64> active;
+    for (size_t i = 0; i < blocks.size(); ++i) {
+      if (keep[i]) active.push_back(blocks[i]);
+    }
+    if (bits == kBlockBits) return active;
+
+    // The 8 children of a block are the next 8 blocks one level down.
+    --bits;
+    blocks.resize(8 * active.size());
+    for_each_n(pol, countAt(0_z), blocks.size(),
+               [&](size_t i) { blocks[i] = 8 * active[i / 8] + i % 8; });
+  }
+}
+
 struct BuildTris {
   VecView<glm::ivec3> triVerts;
   VecView<int> triIndex;
@@ -298,12 +365,18 @@ namespace manifold {
  * with runtime locks that expect to not be called back by unregistered threads.
  * This allows bindings use LevelSet despite being compiled with MANIFOLD_PAR
  * active.
+ * @param lipschitz An upper bound on the gradient magnitude of the SDF, which
+ * is 1 for a true distance function. If positive, the grid is evaluated
+ * sparsely: coarse blocks whose center is too far from the level for the bound
+ * to allow a crossing are skipped, so time and memory scale with the surface
+ * area rather than the volume. The default of 0 samples every grid point,
+ * which is required for functions that are not Lipschitz bounded.
  * @return Mesh This class does not depend on Manifold, so it just returns a
  * Mesh, but it is guaranteed to be manifold and so can always be used as
  * input to the Manifold constructor for further operations.
  */
 Mesh LevelSet(std::function<float(glm::vec3)> sdf, Box bounds, float edgeLength,
-              float level, bool canParallel) {
+              float level, bool canParallel, float lipschitz) {
   Mesh out;
 
   const glm::vec3 dim = bounds.Size();
@@ -318,6 +391,15 @@ Mesh LevelSet(std::function<float(glm::vec3)> sdf, Box bounds, float edgeLength,
   // active.
   const auto pol = canParallel ? autoPolicy(maxMorton) : ExecutionPolicy::Seq;
 
+  Vec<Uint64> blocks;
+  if (lipschitz > 0) {
+    blocks = ActiveBlocks({sdf, bounds.min, gridSize + 1, spacing, level,
+                           lipschitz},
+                          maxMorton, canParallel);
+  }
+  const int blockShift = 3 * kBlockBits + 1;
+  const Uint64 blockMask = (Uint64(1) << blockShift) - 1;
+
   size_t tableSize = glm::min(
       2 * maxMorton, static_cast<Uint64>(10 * glm::pow(maxMorton, 0.667)));
   HashTable<GridVert, identity> gridVerts(tableSize);
@@ -325,9 +407,17 @@ Mesh LevelSet(std::function<float(glm::vec3)> sdf, Box bounds, float edgeLength,
 
   while (1) {
     Vec<int> index(1, 0);
-    for_each_n(pol, countAt(0_z), maxMorton + 1,
-               ComputeVerts({vertPos, index, gridVerts.D(), sdf, bounds.min,
-                             gridSize + 1, spacing, level}));
+    ComputeVerts computeVerts({vertPos, index, gridVerts.D(), sdf, bounds.min,
+                               gridSize + 1, spacing, level});
+    if (lipschitz > 0) {
+      for_each_n(pol, countAt(0_z), blocks.size() << blockShift,
+                 [&](Uint64 i) {
+                   computeVerts((blocks[i >> blockShift] << blockShift) |
+                                (i & blockMask));
+                 });
+    } else {
+      for_each_n(pol, countAt(0_z), maxMorton + 1, computeVerts);
+    }
 
     if (gridVerts.Full()) {  // Resize HashTable
       const glm::vec3 lastVert = vertPos[index[0] - 1];
@@ -168,6 +168,31 @@ struct Properties {
   float surfaceArea, volume;
 };
 
+/**
+ * The first surface hit along a ray, created with Manifold.RayCast(). On a
+ * miss, tri is -1 and distance is infinite.
+ */
+struct RayHit {
+  /// Distance along the ray, in units of the direction vector's length.
+  float distance = std::numeric_limits<float>::infinity();
+  /// Index of the triangle hit, matching the order of Manifold.GetMesh().
+  int tri = -1;
+  /// Barycentric coordinates of the hit with respect to the triangle's verts.
+  glm::vec3 barycentric = glm::vec3(0);
+};
+
+/**
+ * The nearest point on the surface to a query point, created with
+ * Manifold.ClosestPoints().
+ */
+struct SurfacePoint {
+  glm::vec3 position = glm::vec3(0);
+  /// Index of the triangle containing position, or -1 for an empty manifold.
+  int tri = -1;
+  /// Distance to position, negative when the query point is inside.
+  float signedDistance = std::numeric_limits<float>::infinity();
+};
+
 struct Box {
   glm::vec3 min = glm::vec3(std::numeric_limits<float>::infinity());
   glm::vec3 max = glm::vec3(-std::numeric_limits<float>::infinity());
@@ -614,7 +639,9 @@ struct ExecutionParams {
   /// Suppresses printed errors regarding CW triangles. Has no effect if
   /// processOverlaps is true.
   bool suppressErrors = false;
-  /// Deterministic outputs. Will disable some parallel optimizations.
+  /// Deterministic outputs, bit-identical across runs and thread counts.
+  /// Batch Booleans reduce over a fixed tree instead of a work queue, so they
+  /// remain parallel, though the pairing is less adaptive.
   bool deterministic = false;
   /// Perform optional but recommended triangle cleanups in SimplifyTopology()
   bool cleanupTriangles = true;
@@ -537,6 +537,48 @@ TEST(Boolean, Cubes) {
 #endif
 }
 
+TEST(Boolean, EvaluateAll) {
+  std::vector<Manifold> jobs;
+  for (int i = 0; i < 16; ++i) {
+    const Manifold cube = Manifold::Cube(glm::vec3(1), true);
+    jobs.push_back(cube - Manifold::Sphere(0.6, 8 + 4 * i) +
+                   cube.Translate({0.5f * i, 0, 0}));
+  }
+  const std::vector<Manifold> results = Manifold::EvaluateAll(jobs);
+  ASSERT_EQ(results.size(), jobs.size());
+  for (size_t i = 0; i < jobs.size(); ++i) {
+    EXPECT_EQ(results[i].Status(), Manifold::Error::NoError);
+    EXPECT_EQ(results[i].NumTri(), jobs[i].NumTri());
+    EXPECT_NEAR(results[i].GetProperties().volume,
+                jobs[i].GetProperties().volume, 1e-5);
+  }
+  EXPECT_TRUE(Manifold::EvaluateAll({}).empty());
+}
+
+TEST(Boolean, DeterministicBatch) {
+  // Restores the default even if an assertion below ends the test early.
+  struct ResetDeterministic {
+    ~ResetDeterministic() { ManifoldParams().deterministic = false; }
+  } reset;
+  ManifoldParams().deterministic = true;
+  // Fine spheres give each pairwise Boolean well over kParallelThreshold
+  // edge-face intersections, so the parallel edge paths are exercised.
+  auto batch = []() {
+    std::vector<Manifold> spheres;
+    for (int i = 0; i < 6; ++i) {
+      spheres.push_back(Manifold::Sphere(1, 256).Translate(
+          {0.7f * (i % 3), 0.7f * (i / 3), 0.1f * i}));
+    }
+    return Manifold::BatchBoolean(spheres, OpType::Add).GetMeshGL();
+  };
+  const MeshGL first = batch();
+  for (int run = 0; run < 3; ++run) {
+    const MeshGL mesh = batch();
+    EXPECT_EQ(mesh.vertProperties, first.vertProperties);
+    EXPECT_EQ(mesh.triVerts, first.triVerts);
+  }
+}
+
 TEST(Boolean, NoRetainedVerts) {
   Manifold cube = Manifold::Cube(glm::vec3(1), true);
   Manifold oct = Manifold::Sphere(1, 4);
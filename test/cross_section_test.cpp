@@ -68,6 +68,52 @@ TEST(CrossSection, RoundOffset) {
   EXPECT_EQ(rounded.NumVert(), segments + 4);
 }
 
+TEST(CrossSection, Offsets) {
+  auto a = CrossSection::Square({20., 20.}, true);
+  auto b = CrossSection::Circle(5, 32).Translate({30, 0});
+  std::vector<double> deltas{-1, -2, 0, 3};
+  auto insets = a.Offsets(deltas, CrossSection::JoinType::Round, 2, 20);
+  ASSERT_EQ(insets.size(), deltas.size());
+  for (int j = 0; j < deltas.size(); ++j) {
+    EXPECT_FLOAT_EQ(
+        insets[j].Area(),
+        a.Offset(deltas[j], CrossSection::JoinType::Round, 2, 20).Area());
+  }
+
+  auto layers = CrossSection::Offsets({a, b}, deltas,
+                                      CrossSection::JoinType::Miter);
+  ASSERT_EQ(layers.size(), 2 * deltas.size());
+  for (int j = 0; j < deltas.size(); ++j) {
+    EXPECT_FLOAT_EQ(layers[j].Area(),
+                    a.Offset(deltas[j], CrossSection::JoinType::Miter).Area());
+    EXPECT_FLOAT_EQ(layers[deltas.size() + j].Area(),
+                    b.Offset(deltas[j], CrossSection::JoinType::Miter).Area());
+  }
+}
+
+TEST(CrossSection, ClipPaths) {
+  auto square = CrossSection::Square({10., 10.}, true);
+  Polygons hatch;
+  for (int i = -4; i <= 4; ++i) {
+    hatch.push_back({glm::vec2(-20, i), glm::vec2(20, i)});
+  }
+  auto clipped = square.ClipPaths(hatch);
+  ASSERT_EQ(clipped.size(), hatch.size());
+  for (const auto& line : clipped) {
+    ASSERT_EQ(line.size(), 2);
+    EXPECT_NEAR(glm::abs(line[1].x - line[0].x), 10, 1e-5);
+    EXPECT_NEAR(glm::abs(line[0].x), 5, 1e-5);
+  }
+
+  auto hole = square - CrossSection::Square({4., 4.}, true);
+  auto layers = CrossSection::ClipPaths({square, hole}, {hatch, hatch});
+  ASSERT_EQ(layers.size(), 2);
+  EXPECT_EQ(layers[0].size(), hatch.size());
+  // The three middle lines (|y| < 2) are split in two by the hole, and the
+  // two lines at |y| = 2 run along its edge.
+  EXPECT_GE(layers[1].size(), hatch.size() + 3);
+}
+
 TEST(CrossSection, Empty) {
   Polygons polys(2);
   auto e = CrossSection(polys);
@@ -192,6 +238,28 @@ TEST(CrossSection, Hull) {
       (CrossSection::BatchBoolean(circs, OpType::Add) - tri).Area());
 }
 
+TEST(CrossSection, BatchBooleanTiled) {
+  // Enough sections to cross the parallel threshold; neighbors overlap so the
+  // tiles must be merged to produce a single contour.
+  const int n = 80;
+  auto square = CrossSection::Square({1.5, 1.5});
+  std::vector<CrossSection> squares;
+  for (int i = 0; i < n; ++i) {
+    for (int j = 0; j < n; ++j) {
+      squares.push_back(square.Translate(glm::vec2(i, j)));
+    }
+  }
+  auto grid = CrossSection::BatchBoolean(squares, OpType::Add);
+  EXPECT_EQ(grid.NumContour(), 1);
+  EXPECT_NEAR(grid.Area(), (n + 0.5) * (n + 0.5), 1e-3);
+
+  auto plate =
+      CrossSection::Square(glm::vec2(n + 1)).Translate({-0.5, -0.5});
+  squares.insert(squares.begin(), plate);
+  auto rest = CrossSection::BatchBoolean(squares, OpType::Subtract);
+  EXPECT_NEAR(rest.Area(), (n + 1) * (n + 1) - (n + 0.5) * (n + 0.5), 1e-3);
+}
+
 TEST(CrossSection, HullError) {
   auto rounded_rectangle = [](float x, float y, float radius, int segments) {
     auto circ = CrossSection::Circle(radius, segments);
@@ -20,6 +20,10 @@
 #include "test.h"
 
 #ifdef MANIFOLD_EXPORT
+#include <cstring>
+#include <fstream>
+#include <sstream>
+
 #include "meshIO.h"
 #endif
 
@@ -509,6 +513,432 @@ TEST(Manifold, GetProperties) {
   EXPECT_FLOAT_EQ(prop.surfaceArea, 6.0f);
 }
 
+TEST(Manifold, Decimate) {
+  const Manifold sphere = Manifold::Sphere(1, 128);
+  const Manifold coarse = sphere.Decimate(2000, 0.01);
+  EXPECT_EQ(coarse.Status(), Manifold::Error::NoError);
+  EXPECT_LT(coarse.NumTri(), sphere.NumTri() / 4);
+  EXPECT_GT(coarse.NumTri(), 1000);
+  EXPECT_EQ(coarse.Genus(), 0);
+  EXPECT_NEAR(coarse.GetProperties().volume, sphere.GetProperties().volume,
+              0.05);
+
+  // Run boundaries survive decimation.
+  const Manifold parts =
+      sphere + Manifold::Sphere(1, 128).Translate(glm::vec3(1.5, 0, 0));
+  const Manifold reduced = parts.Decimate(0, 0.01);
+  EXPECT_EQ(reduced.Status(), Manifold::Error::NoError);
+  EXPECT_LT(reduced.NumTri(), parts.NumTri() / 4);
+  EXPECT_EQ(reduced.GetMeshGL().runOriginalID.size(),
+            parts.GetMeshGL().runOriginalID.size());
+}
+
+TEST(Manifold, DecimateKeepsGenus) {
+  // A thin plate with a grid of holes, and a gyroid: decimating either all the
+  // way down must stop at collapses that would pinch the surface.
+  Manifold plate = Manifold::Cube({10, 10, 0.2}, true);
+  for (int i = -1; i <= 1; ++i) {
+    for (int j = -1; j <= 1; ++j) {
+      plate -= Manifold::Cylinder(1, 1, 1, 32, true)
+                   .Translate({3.0f * i, 3.0f * j, 0});
+    }
+  }
+  ASSERT_EQ(plate.Genus(), 9);
+  const Manifold gyroid(Gyroid());
+  for (const Manifold& part : {plate, gyroid}) {
+    const Manifold coarse = part.Decimate(0, 10);
+    EXPECT_EQ(coarse.Status(), Manifold::Error::NoError);
+    EXPECT_EQ(coarse.Genus(), part.Genus());
+    EXPECT_LT(coarse.NumTri(), part.NumTri() / 2);
+  }
+}
+
+TEST(Manifold, LODs) {
+  const Manifold sphere = Manifold::Sphere(1, 64);
+  const std::vector<Manifold> lods = sphere.LODs(4, 0.5);
+  ASSERT_EQ(lods.size(), 4);
+  EXPECT_EQ(lods[0].NumTri(), sphere.NumTri());
+  for (int i = 1; i < 4; ++i) {
+    EXPECT_EQ(lods[i].Status(), Manifold::Error::NoError);
+    EXPECT_LT(lods[i].NumTri(), lods[i - 1].NumTri());
+    EXPECT_NEAR(lods[i].NumTri(), lods[i - 1].NumTri() / 2,
+                lods[i - 1].NumTri() / 20);
+  }
+
+  EXPECT_EQ(sphere.NumCachedLODs(), 3);
+
+  // Give a returned level a cache of its own, which a longer chain only
+  // sees if it hands back that same level rather than a rebuilt one.
+  lods[1].LODs(3, 0.5);
+  ASSERT_EQ(lods[1].NumCachedLODs(), 2);
+
+  const std::vector<Manifold> more = sphere.LODs(5, 0.5);
+  ASSERT_EQ(more.size(), 5);
+  EXPECT_EQ(sphere.NumCachedLODs(), 4);
+  EXPECT_EQ(more[1].NumCachedLODs(), 2);
+  EXPECT_LT(more[4].NumTri(), more[3].NumTri());
+
+  // A different ratio rebuilds the chain.
+  const std::vector<Manifold> other = sphere.LODs(3, 0.25);
+  EXPECT_EQ(sphere.NumCachedLODs(), 2);
+  EXPECT_EQ(other[1].NumCachedLODs(), 0);
+}
+
+#ifdef MANIFOLD_EXPORT
+TEST(Manifold, WriteGLB) {
+  const Manifold sphere = Manifold::Sphere(0.5, 16);
+  const Manifold parts = Manifold::Cube() + sphere.Translate({2, 0, 0});
+  const MeshGL mesh = parts.CalculateNormals(0).GetMeshGL({3, 4, 5});
+  ExportOptions opt;
+  opt.faceted = false;
+  opt.mat.normalChannels = {3, 4, 5};
+  const GLBWriter writer(mesh, opt);
+
+  std::vector<char> buffer(writer.Size());
+  writer.Write(buffer.data());
+  uint32_t header[3];
+  std::memcpy(header, buffer.data(), sizeof(header));
+  EXPECT_EQ(header[0], 0x46546C67);
+  EXPECT_EQ(header[1], 2);
+  EXPECT_EQ(header[2], buffer.size());
+  const std::string json(buffer.begin() + 20, buffer.end());
+  EXPECT_NE(json.find("\"NORMAL\""), std::string::npos);
+  EXPECT_NE(json.find("\"runOriginalID\""), std::string::npos);
+
+  std::ostringstream stream;
+  writer.Write(stream);
+  EXPECT_EQ(stream.str(), std::string(buffer.begin(), buffer.end()));
+
+  // Ranged writes split the gathered colors mid-vertex.
+  opt.mat.colorChannels = {3, 4, 5, -1};
+  const GLBWriter colored(mesh, opt);
+  std::vector<char> whole(colored.Size());
+  colored.Write(whole.data());
+  std::vector<char> pieces(colored.Size());
+  for (size_t offset = 0; offset < pieces.size(); offset += 7) {
+    const size_t size = std::min<size_t>(7, pieces.size() - offset);
+    colored.Write(pieces.data() + offset, offset, size);
+  }
+  EXPECT_EQ(pieces, whole);
+  EXPECT_THROW(colored.Write(pieces.data(), 8, colored.Size()),
+               std::out_of_range);
+}
+
+TEST(Manifold, CompactMesh) {
+  const Manifold sphere = Manifold::Sphere(1, 64).CalculateNormals(0);
+  const Manifold parts = sphere + sphere.Translate({1, 0, 0});
+  const MeshGL mesh = parts.GetMeshGL({3, 4, 5});
+  CompactOptions opt;
+  opt.channels = {3, 4, 5};
+  const std::vector<uint8_t> encoded = EncodeCompactMesh(mesh, opt);
+  const size_t rawSize = sizeof(float) * mesh.vertProperties.size() +
+                         sizeof(uint32_t) * mesh.triVerts.size();
+  EXPECT_LT(encoded.size(), rawSize / 2);
+
+  const MeshGL decoded = DecodeCompactMesh(encoded.data(), encoded.size());
+  ASSERT_EQ(decoded.numProp, 6);
+  ASSERT_EQ(decoded.NumTri(), mesh.NumTri());
+  EXPECT_EQ(decoded.runOriginalID, mesh.runOriginalID);
+  EXPECT_EQ(decoded.runIndex, mesh.runIndex);
+  // Quantization error is at most half a step of the bounding box.
+  const float tol = 2.0f / 65535;
+  for (size_t i = 0; i < mesh.triVerts.size(); ++i) {
+    const float* in = &mesh.vertProperties[6 * mesh.triVerts[i]];
+    const float* out = &decoded.vertProperties[6 * decoded.triVerts[i]];
+    for (int j : {0, 1, 2}) EXPECT_NEAR(in[j], out[j], tol);
+    for (int j : {3, 4, 5}) EXPECT_NEAR(in[j], out[j], 2.0f / 255);
+  }
+
+  // The format is little-endian on every host, starting with "MFQ1".
+  EXPECT_EQ(std::string(encoded.begin(), encoded.begin() + 4), "MFQ1");
+
+  opt.propertyBits = 16;
+  const std::vector<uint8_t> encoded16 = EncodeCompactMesh(mesh, opt);
+  EXPECT_GT(encoded16.size(), encoded.size());
+  const MeshGL decoded16 =
+      DecodeCompactMesh(encoded16.data(), encoded16.size());
+  ASSERT_EQ(decoded16.NumTri(), mesh.NumTri());
+  for (size_t i = 0; i < mesh.triVerts.size(); ++i) {
+    const float* in = &mesh.vertProperties[6 * mesh.triVerts[i]];
+    const float* out = &decoded16.vertProperties[6 * decoded16.triVerts[i]];
+    for (int j : {3, 4, 5}) EXPECT_NEAR(in[j], out[j], tol);
+  }
+
+  // runIndex round-trips on its own, without runOriginalID.
+  MeshGL runsOnly = mesh;
+  runsOnly.runOriginalID.clear();
+  const std::vector<uint8_t> encodedRuns = EncodeCompactMesh(runsOnly);
+  const MeshGL decodedRuns =
+      DecodeCompactMesh(encodedRuns.data(), encodedRuns.size());
+  EXPECT_EQ(decodedRuns.runIndex, mesh.runIndex);
+  EXPECT_TRUE(decodedRuns.runOriginalID.empty());
+}
+
+TEST(Manifold, VertexCacheOrder) {
+  const Manifold sphere = Manifold::Sphere(1, 64);
+  const Manifold parts = sphere + sphere.Translate({1, 0, 0});
+  const MeshGL mesh = parts.GetMeshGL();
+  MeshGL optimized = mesh;
+  OptimizeVertexCache(optimized);
+  ASSERT_EQ(optimized.NumTri(), mesh.NumTri());
+  EXPECT_EQ(optimized.runIndex, mesh.runIndex);
+
+  // Average cache misses per triangle with a 16-entry FIFO.
+  auto ACMR = [](const MeshGL& m) {
+    std::vector<uint32_t> fifo;
+    int misses = 0;
+    for (const uint32_t vert : m.triVerts) {
+      if (std::find(fifo.begin(), fifo.end(), vert) != fifo.end()) continue;
+      ++misses;
+      fifo.push_back(vert);
+      if (fifo.size() > 16) fifo.erase(fifo.begin());
+    }
+    return static_cast<float>(misses) / m.NumTri();
+  };
+  EXPECT_LT(ACMR(optimized), ACMR(mesh));
+
+  const Manifold reordered(optimized);
+  EXPECT_EQ(reordered.Status(), Manifold::Error::NoError);
+  EXPECT_NEAR(reordered.GetProperties().volume,
+              parts.GetProperties().volume, 1e-5);
+
+  const Meshlets meshlets = BuildMeshlets(optimized, 64, 124);
+  size_t numTri = 0;
+  for (size_t i = 0; i < meshlets.NumMeshlet(); ++i) {
+    const uint32_t* range = &meshlets.ranges[5 * i];
+    EXPECT_LE(range[1], 64);
+    EXPECT_LE(range[3], 124);
+    for (uint32_t tri = 0; tri < range[3]; ++tri) {
+      for (int j : {0, 1, 2}) {
+        const uint8_t local = meshlets.meshletTris[3 * (range[2] + tri) + j];
+        ASSERT_LT(local, range[1]);
+        EXPECT_EQ(meshlets.meshletVerts[range[0] + local],
+                  optimized.triVerts[3 * (numTri + tri) + j]);
+      }
+    }
+    numTri += range[3];
+    EXPECT_GT(meshlets.bounds[8 * i + 3], 0);
+  }
+  EXPECT_EQ(numTri, optimized.NumTri());
+}
+
+TEST(Manifold, ImportBinarySTL) {
+  const Mesh cube = Manifold::Cube(glm::vec3(1), true).GetMesh();
+  {
+    std::ofstream out("importTest.stl", std::ios::binary);
+    const char header[80] = {};
+    out.write(header, sizeof(header));
+    const uint32_t numTri = cube.triVerts.size();
+    out.write(reinterpret_cast<const char*>(&numTri), sizeof(numTri));
+    for (const glm::ivec3& tri : cube.triVerts) {
+      const glm::vec3 normal(0);
+      out.write(reinterpret_cast<const char*>(&normal), sizeof(normal));
+      for (int i : {0, 1, 2}) {
+        const glm::vec3 v = cube.vertPos[tri[i]];
+        out.write(reinterpret_cast<const char*>(&v), sizeof(v));
+      }
+      const uint16_t attribute = 0;
+      out.write(reinterpret_cast<const char*>(&attribute), sizeof(attribute));
+    }
+  }
+  const MeshGL mesh = ImportMeshGL("importTest.stl");
+  EXPECT_EQ(mesh.NumVert(), 8);
+  EXPECT_EQ(mesh.NumTri(), 12);
+  const Manifold imported(mesh);
+  EXPECT_EQ(imported.Status(), Manifold::Error::NoError);
+  EXPECT_FLOAT_EQ(imported.GetProperties().volume, 1);
+}
+
+TEST(Manifold, ImportBinaryPLY) {
+  // A unit cube of quads, with verts 0 and 8 coincident but differing in the
+  // extra property.
+  const float verts[9][4] = {{0, 0, 0, 0}, {1, 0, 0, 0}, {1, 1, 0, 0},
+                             {0, 1, 0, 0}, {0, 0, 1, 0}, {1, 0, 1, 0},
+                             {1, 1, 1, 0}, {0, 1, 1, 0}, {0, 0, 0, 1}};
+  const int quads[6][4] = {{8, 3, 2, 1}, {4, 5, 6, 7}, {0, 1, 5, 4},
+                           {1, 2, 6, 5}, {2, 3, 7, 6}, {3, 0, 4, 7}};
+  {
+    std::ofstream out("importTest.ply", std::ios::binary);
+    out << "ply\nformat binary_little_endian 1.0\nelement vertex 9\n"
+           "property float x\nproperty float y\nproperty float z\n"
+           "property float u\nelement face 6\n"
+           "property list uchar int vertex_indices\nend_header\n";
+    out.write(reinterpret_cast<const char*>(verts), sizeof(verts));
+    for (const auto& quad : quads) {
+      const uint8_t count = 4;
+      out.write(reinterpret_cast<const char*>(&count), sizeof(count));
+      out.write(reinterpret_cast<const char*>(quad), sizeof(quad));
+    }
+  }
+  const MeshGL mesh = ImportMeshGL("importTest.ply");
+  EXPECT_EQ(mesh.numProp, 4);
+  EXPECT_EQ(mesh.NumVert(), 9);
+  EXPECT_EQ(mesh.NumTri(), 12);
+  ASSERT_EQ(mesh.mergeFromVert.size(), 1);
+  EXPECT_EQ(mesh.mergeFromVert[0], 8);
+  EXPECT_EQ(mesh.mergeToVert[0], 0);
+  const Manifold imported(mesh);
+  EXPECT_EQ(imported.Status(), Manifold::Error::NoError);
+  EXPECT_FLOAT_EQ(imported.GetProperties().volume, 1);
+}
+#endif
+
+TEST(Manifold, RayCast) {
+  Manifold cube = Manifold::Cube(glm::vec3(2), true).Translate({0, 0, 5});
+  std::vector<glm::vec3> origins = {{0, 0, 0}, {0.5, 0.5, 0}, {3, 0, 0}};
+  std::vector<glm::vec3> dirs = {{0, 0, 1}, {0, 0, 2}, {0, 0, 1}};
+  std::vector<RayHit> hits = cube.RayCast(origins, dirs);
+  ASSERT_EQ(hits.size(), 3);
+  EXPECT_NEAR(hits[0].distance, 4, 1e-5);
+  EXPECT_NEAR(hits[1].distance, 2, 1e-5);
+  EXPECT_EQ(hits[2].tri, -1);
+
+  const Mesh mesh = cube.GetMesh();
+  for (int i : {0, 1}) {
+    ASSERT_GE(hits[i].tri, 0);
+    const glm::ivec3 tri = mesh.triVerts[hits[i].tri];
+    glm::vec3 p(0);
+    for (int j : {0, 1, 2}) p += hits[i].barycentric[j] * mesh.vertPos[tri[j]];
+    const glm::vec3 expected = origins[i] + hits[i].distance * dirs[i];
+    EXPECT_NEAR(p.x, expected.x, 1e-5);
+    EXPECT_NEAR(p.y, expected.y, 1e-5);
+    EXPECT_NEAR(p.z, expected.z, 1e-5);
+  }
+}
+
+TEST(Manifold, RayCastVertexEdge) {
+  // Axis-parallel rays whose other coordinates lie exactly on the box bounds
+  // of a non-centered cube, through its vertices and along its edges.
+  Manifold cube = Manifold::Cube(glm::vec3(2));
+  std::vector<glm::vec3> origins = {{0.5, 0, -1}, {0, 0, -1}, {2, 2, -1},
+                                    {2, 1, -1},   {-1, 0, 0}, {0, -1, 2},
+                                    {2.5, 1, -1}};
+  std::vector<glm::vec3> dirs = {{0, 0, 1}, {0, 0, 1}, {0, 0, 1}, {0, 0, 1},
+                                 {1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+  std::vector<RayHit> hits = cube.RayCast(origins, dirs);
+  ASSERT_EQ(hits.size(), origins.size());
+  for (int i = 0; i < 6; ++i) {
+    EXPECT_GE(hits[i].tri, 0) << "ray " << i;
+    EXPECT_NEAR(hits[i].distance, 1, 1e-5) << "ray " << i;
+  }
+  EXPECT_EQ(hits[6].tri, -1);
+}
+
+TEST(Manifold, ClosestPoints) {
+  Manifold cube = Manifold::Cube(glm::vec3(2), true);
+  std::vector<glm::vec3> points = {
+      {0, 0, 0.5}, {0, 0, 3}, {2, 2, 0}, {2, 2, 2}, {0.9, 0.9, 0.9}};
+  std::vector<SurfacePoint> closest = cube.ClosestPoints(points);
+  ASSERT_EQ(closest.size(), points.size());
+  // inside, near a face
+  EXPECT_NEAR(closest[0].signedDistance, -0.5, 1e-5);
+  EXPECT_NEAR(closest[0].position.z, 1, 1e-5);
+  // outside, nearest to a face, an edge and a vertex
+  EXPECT_NEAR(closest[1].signedDistance, 2, 1e-5);
+  EXPECT_NEAR(closest[2].signedDistance, glm::sqrt(2.0f), 1e-5);
+  EXPECT_NEAR(closest[3].signedDistance, glm::sqrt(3.0f), 1e-5);
+  EXPECT_NEAR(closest[3].position.x, 1, 1e-5);
+  // inside, near a corner
+  EXPECT_NEAR(closest[4].signedDistance, -0.1, 1e-5);
+  for (const auto& p : closest) EXPECT_GE(p.tri, 0);
+}
+
+TEST(Manifold, Contains) {
+  Manifold shape = Manifold::Cube(glm::vec3(2), true) -
+                   Manifold::Sphere(0.5, 32);
+  std::vector<glm::vec3> points = {
+      {0, 0, 0}, {0.9, 0.9, 0.9}, {0.75, 0, 0}, {1.5, 0, 0}, {0, 0, -2}};
+  std::vector<uint8_t> inside = shape.Contains(points);
+  ASSERT_EQ(inside.size(), points.size());
+  EXPECT_EQ(inside[0], 0);  // in the spherical void
+  EXPECT_EQ(inside[1], 1);
+  EXPECT_EQ(inside[2], 1);
+  EXPECT_EQ(inside[3], 0);
+  EXPECT_EQ(inside[4], 0);
+
+  // a dense grid should agree with the analytic volume
+  const int n = 40;
+  std::vector<glm::vec3> grid;
+  for (int i = 0; i < n; ++i)
+    for (int j = 0; j < n; ++j)
+      for (int k = 0; k < n; ++k)
+        grid.push_back(glm::vec3(i + 0.5f, j + 0.5f, k + 0.5f) * (3.0f / n) -
+                       glm::vec3(1.5f));
+  inside = shape.Contains(grid);
+  int count = 0;
+  for (uint8_t in : inside) count += in;
+  const float cellVolume = glm::pow(3.0f / n, 3.0f);
+  EXPECT_NEAR(count * cellVolume, shape.GetProperties().volume, 0.1);
+}
+
+TEST(Manifold, SampleSDF) {
+  Manifold cube = Manifold::Cube(glm::vec3(2), true);
+  std::vector<float> sdf =
+      cube.SampleSDF({glm::vec3(-2), glm::vec3(2)}, glm::ivec3(4));
+  ASSERT_EQ(sdf.size(), 125);
+  EXPECT_NEAR(sdf[0], -glm::sqrt(3.0f), 1e-5);  // (-2, -2, -2)
+  EXPECT_NEAR(sdf[62], 1, 1e-5);                // (0, 0, 0)
+  EXPECT_NEAR(sdf[64], -1, 1e-5);               // (2, 0, 0)
+  EXPECT_NEAR(sdf[63], 0, 1e-5);                // (1, 0, 0)
+}
+
+TEST(Manifold, OffsetShell) {
+  Manifold cube = Manifold::Cube(glm::vec3(2), true);
+
+  Manifold grown = cube.Offset(0.5, 0.1);
+  EXPECT_EQ(grown.Status(), Manifold::Error::NoError);
+  EXPECT_EQ(grown.Genus(), 0);
+  // faces, quarter-cylinder edges and eighth-sphere corners
+  const float pi = glm::pi<float>();
+  EXPECT_NEAR(grown.GetProperties().volume, 8 + 12 + 1.5f * pi + pi / 6, 0.3);
+
+  Manifold shrunk = cube.Offset(-0.5, 0.1);
+  EXPECT_EQ(shrunk.Genus(), 0);
+  EXPECT_NEAR(shrunk.GetProperties().volume, 1, 0.1);
+
+  Manifold shell = cube.Shell(0.25, 0.1);
+  EXPECT_EQ(shell.Status(), Manifold::Error::NoError);
+  EXPECT_EQ(shell.Genus(), -1);
+  EXPECT_NEAR(shell.GetProperties().volume, 8 - 3.375, 0.1);
+  EXPECT_TRUE(Manifold().Offset(1, 0.1).IsEmpty());
+}
+
+TEST(Manifold, SceneOverlaps) {
+  std::vector<Manifold> parts;
+  // a row of overlapping cubes: 0-1, 1-2, 2-3
+  for (int i = 0; i < 4; ++i)
+    parts.push_back(Manifold::Cube(glm::vec3(2)).Translate({1.5f * i, 0, 0}));
+  // a cube wholly inside another, with no surface crossing: 4 in 5
+  parts.push_back(Manifold::Cube(glm::vec3(0.5), true).Translate({0, 10, 0}));
+  parts.push_back(Manifold::Cube(glm::vec3(4), true).Translate({0, 10, 0}));
+  // bounding boxes overlap but the volumes don't: 6 and 7
+  parts.push_back(Manifold::Sphere(1, 64).Translate({0, -10, 0}));
+  parts.push_back(Manifold::Cube(glm::vec3(0.2)).Translate({0.8, -9.2, 0.8}));
+
+  Scene scene(parts);
+  EXPECT_EQ(scene.NumParts(), 8);
+  using Pairs = std::vector<std::pair<int, int>>;
+  EXPECT_EQ(scene.Overlaps(false),
+            Pairs({{0, 1}, {1, 2}, {2, 3}, {4, 5}, {6, 7}}));
+  EXPECT_EQ(scene.Overlaps(), Pairs({{0, 1}, {1, 2}, {2, 3}, {4, 5}}));
+
+  // move the inner cube out of its container and onto the sphere
+  glm::mat4x3 move(1);
+  move[3] = glm::vec3(0, -20, 0);
+  scene.TransformPart(4, move);
+  EXPECT_EQ(scene.Overlaps(), Pairs({{0, 1}, {1, 2}, {2, 3}, {4, 6}}));
+}
+
+TEST(Manifold, SceneTouching) {
+  // 0 and 1 share a face, 1 and 2 share an edge, and 3 is just apart from 2.
+  Scene scene({Manifold::Cube(glm::vec3(2)),
+               Manifold::Cube(glm::vec3(2)).Translate({2, 0, 0}),
+               Manifold::Cube(glm::vec3(2)).Translate({4, 2, 0}),
+               Manifold::Cube(glm::vec3(2)).Translate({6.01, 2, 0})});
+  using Pairs = std::vector<std::pair<int, int>>;
+  EXPECT_EQ(scene.Overlaps(), Pairs({{0, 1}, {1, 2}}));
+}
+
 TEST(Manifold, Precision) {
   Manifold cube = Manifold::Cube();
   EXPECT_FLOAT_EQ(cube.Precision(), kTolerance);
@@ -132,4 +132,26 @@ TEST(SDF, SineSurface) {
   if (options.exportModels)
     ExportMesh("sinesurface.glb", smoothed.GetMeshGL(), {});
 #endif
-}
\ No newline at end of file
+}
+
+TEST(SDF, Sparse) {
+  auto shell = [](glm::vec3 p) {
+    return 0.1f - glm::abs(glm::length(p) - 1);
+  };
+  const Box bounds = {glm::vec3(-1.5), glm::vec3(1.5)};
+  const Manifold dense(LevelSet(shell, bounds, 0.05));
+  const Manifold sparse(LevelSet(shell, bounds, 0.05, 0, true, 1));
+
+  EXPECT_EQ(sparse.Status(), Manifold::Error::NoError);
+  EXPECT_EQ(sparse.Genus(), -1);
+  EXPECT_EQ(sparse.NumTri(), dense.NumTri());
+  EXPECT_NEAR(sparse.GetProperties().volume, dense.GetProperties().volume,
+              1e-4);
+
+  // The void's interior reaches the bounds, where the grid closes it off.
+  const Box voidBounds = {glm::vec3(-2), glm::vec3(2)};
+  const Manifold cubeVoid(LevelSet(CubeVoid(), voidBounds, 0.25));
+  const Manifold sparseVoid(LevelSet(CubeVoid(), voidBounds, 0.25, 0, true, 1));
+  EXPECT_EQ(sparseVoid.Genus(), -1);
+  EXPECT_EQ(sparseVoid.NumTri(), cubeVoid.NumTri());
+}